@@ -1,15 +1,33 @@
 package project.app.humanelogistics;
 
 import project.app.humanelogistics.config.AppConfig;
+import project.app.humanelogistics.db.ArticleTextRepository;
+import project.app.humanelogistics.db.CheckpointRepository;
 import project.app.humanelogistics.db.MediaRepository;
 import project.app.humanelogistics.factory.RepositoryFactory;
+import project.app.humanelogistics.preprocessing.DamageModelTrainer;
 import project.app.humanelogistics.preprocessing.IngestionPipeline;
+import project.app.humanelogistics.preprocessing.IngestionStageConfig;
+import project.app.humanelogistics.preprocessing.analysis.AnalysisCache;
+import project.app.humanelogistics.preprocessing.analysis.CachingCombinedAnalyzer;
+import project.app.humanelogistics.preprocessing.analysis.CachingContentClassifier;
+import project.app.humanelogistics.preprocessing.analysis.CachingSentimentAnalyzer;
+import project.app.humanelogistics.preprocessing.analysis.CombinedAnalyzer;
 import project.app.humanelogistics.preprocessing.analysis.ContentClassifier;
 import project.app.humanelogistics.preprocessing.analysis.DamageClassifier;
+import project.app.humanelogistics.preprocessing.analysis.GeminiCombinedAnalyzer;
+import project.app.humanelogistics.preprocessing.analysis.KeywordTagger;
+import project.app.humanelogistics.preprocessing.analysis.LexiconSentimentAnalyzer;
+import project.app.humanelogistics.preprocessing.analysis.NaiveBayesDamageClassifier;
 import project.app.humanelogistics.preprocessing.analysis.SentimentAnalyzer;
 import project.app.humanelogistics.preprocessing.analysis.SentimentGrade;
+import project.app.humanelogistics.preprocessing.analysis.TieredAnalyzer;
 import project.app.humanelogistics.service.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 public class ApplicationContext implements AutoCloseable {
 
     private final AppConfig config;
@@ -23,6 +41,8 @@ public class ApplicationContext implements AutoCloseable {
     private final ChartService chartService;
     private final StatisticsService statisticsService;
     private final IngestionPipeline ingestionPipeline;
+    private final AnalysisCache analysisCache;
+    private TieredAnalyzer tieredAnalyzer;
 
     public ApplicationContext(
             AppConfig config,
@@ -30,8 +50,20 @@ public class ApplicationContext implements AutoCloseable {
             SentimentAnalyzer sentimentAnalyzer,
             ContentClassifier damageClassifier,
             SummaryGenerator summaryGenerator) {
+        this(config, repositoryFactory, sentimentAnalyzer, damageClassifier, summaryGenerator, null);
+    }
+
+    /** {@code analysisCache} is the cache the analyzers are already wrapped in, or null; kept only for reporting. */
+    public ApplicationContext(
+            AppConfig config,
+            RepositoryFactory repositoryFactory,
+            SentimentAnalyzer sentimentAnalyzer,
+            ContentClassifier damageClassifier,
+            SummaryGenerator summaryGenerator,
+            AnalysisCache analysisCache) {
 
         this.config = config;
+        this.analysisCache = analysisCache;
         this.repositoryFactory = repositoryFactory;
 
         this.newsRepository = repositoryFactory.getNewsRepository();
@@ -40,6 +72,10 @@ public class ApplicationContext implements AutoCloseable {
         this.ingestionPipeline = new IngestionPipeline(sentimentAnalyzer, damageClassifier);
         this.ingestionPipeline.addRepository("News", newsRepository);
         this.ingestionPipeline.addRepository("Social Posts", socialPostRepository);
+        this.ingestionPipeline.setStageConfig(IngestionStageConfig.fromAppConfig(config));
+        this.ingestionPipeline.setCheckpointRepository(repositoryFactory.getCheckpointRepository());
+        this.ingestionPipeline.setArticleTextRepository(repositoryFactory.getArticleTextRepository());
+        this.ingestionPipeline.setAnalysisVersion(analysisVersion(config, false));
 
         this.statisticsService = new StatisticsService(summaryGenerator);
         this.statisticsService.addRepository("News", newsRepository);
@@ -48,8 +84,11 @@ public class ApplicationContext implements AutoCloseable {
         this.dashboardService = new DashboardService(
                 statisticsService,
                 config.getDefaultTopic(),
-                config.getAnalysisYear()
+                config.getAnalysisYear(),
+                new TopicSnapshotCache(config.getDashboardCacheTtlMillis())
         );
+        this.dashboardService.setSummaryDeadlineMillis(config.getAiDeadlineMillis());
+        this.ingestionPipeline.addWriteListener(dashboardService::invalidateTopic);
 
         this.navigationService = new NavigationService();
         this.chartService = new ChartService();
@@ -62,13 +101,85 @@ public class ApplicationContext implements AutoCloseable {
         ContentClassifier damageClassifier = new DamageClassifier();
         SummaryGenerator summaryGenerator = new GeminiSummaryGenerator();
 
-        return new ApplicationContext(
+        ContentClassifier localDamageModel = config.isDamageModelEnabled() ? loadDamageModel(config) : null;
+
+        CombinedAnalyzer combinedAnalyzer = config.isCombinedAnalysisEnabled() ? new GeminiCombinedAnalyzer() : null;
+
+        AnalysisCache analysisCache = null;
+        if (config.isAnalysisCacheEnabled()) {
+            String dir = config.getAnalysisCacheDir();
+            analysisCache = new AnalysisCache(config.getAnalysisCacheSize(), dir.isEmpty() ? null : Path.of(dir));
+            sentimentAnalyzer = new CachingSentimentAnalyzer(sentimentAnalyzer, analysisCache,
+                    SentimentGrade.MODEL.getModelId(), SentimentGrade.PROMPT_VERSION);
+            damageClassifier = new CachingContentClassifier(damageClassifier, analysisCache,
+                    DamageClassifier.MODEL.getModelId(), DamageClassifier.PROMPT_VERSION);
+            if (combinedAnalyzer != null) {
+                combinedAnalyzer = new CachingCombinedAnalyzer(combinedAnalyzer, analysisCache,
+                        GeminiCombinedAnalyzer.MODEL.getModelId(), GeminiCombinedAnalyzer.PROMPT_VERSION);
+            }
+        }
+
+        // Answers in microseconds: no cache needed in front of it
+        if (localDamageModel != null) damageClassifier = localDamageModel;
+
+        // In front of the cache: texts answered locally never reach it or the model
+        TieredAnalyzer tieredAnalyzer = null;
+        if (config.isTieredAnalysisEnabled()) {
+            tieredAnalyzer = new TieredAnalyzer(KeywordTagger.getDefault(), sentimentAnalyzer, damageClassifier,
+                    combinedAnalyzer, config.getLocalConfidenceThreshold());
+            if (config.isLexiconSentimentEnabled()) tieredAnalyzer.setLexicon(new LexiconSentimentAnalyzer());
+            sentimentAnalyzer = tieredAnalyzer;
+            damageClassifier = tieredAnalyzer;
+            if (combinedAnalyzer != null) combinedAnalyzer = tieredAnalyzer.asCombined();
+        }
+
+        ApplicationContext context = new ApplicationContext(
                 config,
                 repositoryFactory,
                 sentimentAnalyzer,
                 damageClassifier,
-                summaryGenerator
+                summaryGenerator,
+                analysisCache
         );
+        context.getIngestionPipeline().setCombinedAnalyzer(combinedAnalyzer);
+        // From what was actually loaded: a missing model falls back to DamageClassifier
+        context.getIngestionPipeline().setAnalysisVersion(analysisVersion(config, localDamageModel != null));
+        context.tieredAnalyzer = tieredAnalyzer;
+        return context;
+    }
+
+    /**
+     * Identifies what produced a stored result: the prompt versions, plus the local tiers
+     * that can answer instead of the model. Any change makes earlier results outdated.
+     * Training skips results whose version carries a local tier, see {@link DamageModelTrainer}.
+     */
+    private static String analysisVersion(AppConfig config, boolean damageModelLoaded) {
+        StringBuilder version = new StringBuilder()
+                .append("s").append(SentimentGrade.PROMPT_VERSION)
+                .append("-d").append(DamageClassifier.PROMPT_VERSION)
+                .append("-c").append(GeminiCombinedAnalyzer.PROMPT_VERSION);
+        if (config.isTieredAnalysisEnabled()) {
+            version.append("-").append(DamageModelTrainer.TIERED_TAG_PREFIX)
+                    .append(config.isLexiconSentimentEnabled() ? "lex" : "kw");
+        }
+        if (damageModelLoaded) version.append("-").append(DamageModelTrainer.LOCAL_MODEL_TAG);
+        return version.toString();
+    }
+
+    private static ContentClassifier loadDamageModel(AppConfig config) {
+        Path file = Path.of(config.getDamageModelPath());
+        if (!Files.exists(file)) {
+            System.err.println("Damage model enabled but " + file + " is missing; using " + DamageClassifier.class.getSimpleName());
+            return null;
+        }
+        try {
+            NaiveBayesDamageClassifier model = NaiveBayesDamageClassifier.load(file);
+            System.out.println("Loaded local damage model from " + file);
+            return model;
+        } catch (IOException e) {
+            System.err.println("Could not load damage model " + file + ": " + e.getMessage());
+            return null;
+        }
     }
 
     public static ApplicationContext createTestContext(
@@ -85,6 +196,12 @@ public class ApplicationContext implements AutoCloseable {
 
             @Override
             public MediaRepository getSocialPostRepository() { return mockSocialRepo; }
+
+            @Override
+            public CheckpointRepository getCheckpointRepository() { return null; }
+
+            @Override
+            public ArticleTextRepository getArticleTextRepository() { return null; }
         };
 
         return new ApplicationContext(
@@ -125,6 +242,16 @@ public class ApplicationContext implements AutoCloseable {
         return socialPostRepository;
     }
 
+    /** Null when analysis caching is disabled. */
+    public AnalysisCache getAnalysisCache() {
+        return analysisCache;
+    }
+
+    /** Null when tiered analysis is disabled. */
+    public TieredAnalyzer getTieredAnalyzer() {
+        return tieredAnalyzer;
+    }
+
     public AppConfig getConfig() {
         return config;
     }
@@ -3,6 +3,7 @@ package project.app.humanelogistics;
 import project.app.humanelogistics.config.AppConfig;
 import project.app.humanelogistics.preprocessing.collector.GoogleNewsCollector;
 import project.app.humanelogistics.preprocessing.IngestionPipeline;
+import project.app.humanelogistics.preprocessing.analysis.TextCondenser;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -46,30 +47,57 @@ public class DataIngestionApp {
             System.out.println("   [1] Search Only  (Collect data, No AI)");
             System.out.println("   [2] Search + Analyze (Full Cycle)");
             System.out.println("   [3] Analyze Only (Process existing DB items)");
+            System.out.println("   [4] Search + Analyze (Staged, Concurrent)");
+            System.out.println("   [5] Analyze Only (Batched prompts, stored text)");
             System.out.print("Enter choice: ");
 
             String choice = scanner.nextLine().trim();
 
+            // Only collecting modes have day checkpoints to resume from
+            boolean resume = false;
+            if (choice.equals("1") || choice.equals("2") || choice.equals("4")) {
+                System.out.print("Resume from checkpoints (skip completed days)? [y/N]: ");
+                resume = scanner.nextLine().trim().equalsIgnoreCase("y");
+            }
+
             if (choice.equals("1")) {
                 System.out.println("\n>>> STARTING SEARCH ONLY <<<");
                 pipeline.clearCollectors();
                 pipeline.registerCollectors(new GoogleNewsCollector());
-                pipeline.processNewData(topic, startDate, endDate, false);
+                pipeline.processNewData(topic, startDate, endDate, false, resume);
             }
             else if (choice.equals("2")) {
                 System.out.println("\n>>> STARTING FULL ANALYSIS <<<");
                 pipeline.clearCollectors();
                 pipeline.registerCollectors(new GoogleNewsCollector());
-                pipeline.processNewData(topic, startDate, endDate, true);
+                pipeline.processNewData(topic, startDate, endDate, true, resume);
             }
             else if (choice.equals("3")) {
                 System.out.println("\n>>> STARTING ANALYSIS ONLY (Existing Data) <<<");
                 pipeline.processExistingData(topic);
             }
+            else if (choice.equals("4")) {
+                System.out.println("\n>>> STARTING STAGED FULL ANALYSIS <<<");
+                pipeline.clearCollectors();
+                pipeline.registerCollectors(new GoogleNewsCollector());
+                pipeline.processNewDataStaged(topic, startDate, endDate, true, resume);
+            }
+            else if (choice.equals("5")) {
+                System.out.println("\n>>> STARTING BATCHED ANALYSIS (Existing Data) <<<");
+                pipeline.processExistingData(topic, true);
+            }
             else {
                 System.out.println("Invalid choice. Exiting.");
             }
 
+            if (context.getAnalysisCache() != null) {
+                System.out.println("\nAnalysis cache -> " + context.getAnalysisCache());
+            }
+            if (context.getTieredAnalyzer() != null) {
+                System.out.println("Analysis routing -> " + context.getTieredAnalyzer());
+            }
+            System.out.println("Prompt condensation -> " + TextCondenser.getDefault());
+
             System.out.println("\n==========================================");
             System.out.println("   OPERATION COMPLETE");
             System.out.println("==========================================");
@@ -0,0 +1,107 @@
+package project.app.humanelogistics;
+
+import project.app.humanelogistics.config.AppConfig;
+import project.app.humanelogistics.db.MediaField;
+import project.app.humanelogistics.db.MediaRepository;
+import project.app.humanelogistics.db.MongoMediaRepository;
+import project.app.humanelogistics.factory.RepositoryFactory;
+import project.app.humanelogistics.model.MediaAnalysis;
+import project.app.humanelogistics.preprocessing.DamageModelTrainer;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Scanner;
+import java.util.stream.Stream;
+
+public class DatabaseMaintenanceApp {
+
+    public static void main(String[] args) {
+        System.out.println("==========================================");
+        System.out.println("   HUMANE LOGISTICS - DATABASE MAINTENANCE");
+        System.out.println("==========================================");
+
+        try (RepositoryFactory factory = new RepositoryFactory(AppConfig.getInstance())) {
+
+            List<MediaRepository> repositories = List.of(
+                    factory.getNewsRepository(),
+                    factory.getSocialPostRepository()
+            );
+
+            Scanner scanner = new Scanner(System.in);
+
+            System.out.println("\n--- Select Task ---");
+            System.out.println("   [1] Backfill content hashes + unique index");
+            System.out.println("   [2] Rebuild daily statistics rollup");
+            System.out.println("   [3] Backfill normalized topic keys + indexes");
+            System.out.println("   [4] Train local damage classifier from stored labels");
+            System.out.print("Enter choice: ");
+
+            String choice = scanner.nextLine().trim();
+
+            if (choice.equals("1")) {
+                System.out.println("\n>>> BACKFILLING CONTENT HASHES <<<");
+                for (MediaRepository repo : repositories) {
+                    if (repo instanceof MongoMediaRepository) {
+                        ((MongoMediaRepository) repo).backfillContentHashes();
+                    }
+                }
+            }
+            else if (choice.equals("2")) {
+                System.out.println("\n>>> REBUILDING DAILY ROLLUP <<<");
+                for (MediaRepository repo : repositories) {
+                    if (repo instanceof MongoMediaRepository) {
+                        ((MongoMediaRepository) repo).rebuildDailyRollup();
+                    }
+                }
+            }
+            else if (choice.equals("3")) {
+                System.out.println("\n>>> BACKFILLING TOPIC KEYS <<<");
+                for (MediaRepository repo : repositories) {
+                    if (repo instanceof MongoMediaRepository) {
+                        ((MongoMediaRepository) repo).backfillTopicKeys();
+                    }
+                }
+            }
+            else if (choice.equals("4")) {
+                System.out.println("\n>>> TRAINING LOCAL DAMAGE CLASSIFIER <<<");
+                AppConfig config = AppConfig.getInstance();
+                DamageModelTrainer trainer = new DamageModelTrainer(factory.getArticleTextRepository(),
+                        config.getDamageModelBuckets(), config.getDamageModelHoldoutPercent());
+
+                List<Stream<MediaAnalysis>> sources = new ArrayList<>();
+                for (MediaRepository repo : repositories) {
+                    if (repo instanceof MongoMediaRepository) {
+                        sources.add(((MongoMediaRepository) repo).streamLabeled(
+                                EnumSet.of(MediaField.CONTENT, MediaField.URL, MediaField.DAMAGE_TYPE), 1000));
+                    }
+                }
+                try (Stream<MediaAnalysis> labeled = sources.stream().flatMap(stream -> stream)) {
+                    DamageModelTrainer.TrainingReport report = trainer.train(labeled);
+                    System.out.print(report);
+
+                    Path file = Path.of(config.getDamageModelPath());
+                    report.getModel().save(file);
+                    System.out.println("Model saved to " + file.toAbsolutePath()
+                            + " (enable with DAMAGE_MODEL_ENABLED=true)");
+                } finally {
+                    sources.forEach(Stream::close);
+                }
+            }
+            else {
+                System.out.println("Invalid choice. Exiting.");
+            }
+
+            System.out.println("\n==========================================");
+            System.out.println("   OPERATION COMPLETE");
+            System.out.println("==========================================");
+
+            scanner.close();
+
+        } catch (Exception e) {
+            System.err.println("Maintenance Error: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
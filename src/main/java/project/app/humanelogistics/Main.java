@@ -46,7 +46,10 @@ public class Main extends Application {
         stage.setTitle("Humane Logistics Data Application");
         stage.setScene(scene);
 
-        stage.setOnCloseRequest(event -> cleanup());
+        stage.setOnCloseRequest(event -> {
+            controller.dispose();
+            cleanup();
+        });
 
         stage.show();
     }
@@ -1,7 +1,19 @@
 package project.app.humanelogistics.config;
 
 import com.google.genai.Client;
+import com.google.genai.errors.ApiException;
 import com.google.genai.types.GenerateContentResponse;
+import project.app.humanelogistics.utils.AdaptiveLimiter;
+import project.app.humanelogistics.utils.Backoff;
+import project.app.humanelogistics.utils.VirtualExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class AIConfig {
 
@@ -17,11 +29,29 @@ public class AIConfig {
         public String getModelId() { return modelId; }
     }
 
+    // Shared by every AIConfig instance: the quota being protected is per API key, not per caller
+    private static final AdaptiveLimiter LIMITER = new AdaptiveLimiter(
+            AppConfig.getInstance().getAiInitialConcurrency(),
+            1,
+            AppConfig.getInstance().getAiMaxConcurrency(),
+            AppConfig.getInstance().getAiLatencyTargetMillis());
+    private static final ExecutorService CALLS = Executors.newVirtualThreadPerTaskExecutor();
+    private static final long RETRY_BASE_MILLIS = 1000;
+    private static final long RETRY_MAX_MILLIS = 30000;
+
     private final Client geminiClient;
+    private final long attemptTimeoutMillis;
+    private final long deadlineMillis;
+    private final int maxRetries;
     // private final OpenAiService openAiService; // Future
 
     public AIConfig() {
-        String apiKey = AppConfig.getInstance().getApiKey();
+        AppConfig config = AppConfig.getInstance();
+        this.attemptTimeoutMillis = config.getAiTimeoutMillis();
+        this.deadlineMillis = Math.max(attemptTimeoutMillis, config.getAiDeadlineMillis());
+        this.maxRetries = config.getAiMaxRetries();
+
+        String apiKey = config.getApiKey();
         this.geminiClient = (apiKey != null && !apiKey.isEmpty())
                 ? Client.builder().apiKey(apiKey).build()
                 : null;
@@ -32,6 +62,7 @@ public class AIConfig {
 
     /**
      * The Master Method: You choose the model, you give the prompt.
+     * Throws {@link AIRequestException} when no answer could be obtained.
      */
     public String ask(ModelType model, String prompt) {
         if (model.name().startsWith("GEMINI")) {
@@ -43,14 +74,118 @@ public class AIConfig {
         return "Unknown Model";
     }
 
+    /**
+     * Non-blocking {@link #ask}: runs on a virtual thread. Cancelling the future interrupts
+     * the call, including any backoff sleep between retries.
+     */
+    public CompletableFuture<String> askAsync(ModelType model, String prompt) {
+        return VirtualExecutor.supplyAsync(() -> ask(model, prompt));
+    }
+
+    /**
+     * Each attempt waits for a slot from the shared adaptive limiter and is cut off after
+     * the attempt timeout. 429/5xx responses and timeouts are retried with jittered
+     * exponential backoff until retries run out or the overall deadline would pass.
+     */
     private String askGemini(String modelId, String prompt) {
-        if (geminiClient == null) return "Error: Gemini API Key missing.";
+        if (geminiClient == null) {
+            throw new AIRequestException("Gemini API Key missing.", 0, false, null);
+        }
+
+        long deadline = System.currentTimeMillis() + deadlineMillis;
+        for (int attempt = 0; ; attempt++) {
+            AIRequestException failure;
+            try {
+                return attemptGemini(modelId, prompt, deadline);
+            } catch (AIRequestException e) {
+                failure = e;
+            }
+
+            long delay = Backoff.delayMillis(attempt, RETRY_BASE_MILLIS, RETRY_MAX_MILLIS);
+            if (!failure.isRetryable() || attempt >= maxRetries
+                    || System.currentTimeMillis() + delay >= deadline) {
+                System.err.println("Gemini Error: " + failure.getMessage());
+                throw failure;
+            }
+
+            System.err.println("Gemini call failed (" + failure.getMessage() + "), retry "
+                    + (attempt + 1) + "/" + maxRetries + " in " + delay + " ms");
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AIRequestException("Interrupted", 0, false, e);
+            }
+        }
+    }
+
+    private String attemptGemini(String modelId, String prompt, long deadline) {
+        try {
+            LIMITER.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AIRequestException("Interrupted", 0, false, e);
+        }
+
+        long started = System.currentTimeMillis();
+        long timeout = Math.max(1, Math.min(attemptTimeoutMillis, deadline - started));
+        CompletableFuture<GenerateContentResponse> call = new CompletableFuture<>();
+        AtomicBoolean timedOut = new AtomicBoolean();
+        AtomicBoolean abandoned = new AtomicBoolean();
+        // The slot is released when the request really ends, not when we stop waiting: the
+        // HTTP call cannot be interrupted, so an abandoned call still counts against the limit
+        CALLS.execute(() -> {
+            Throwable failure = null;
+            try {
+                call.complete(geminiClient.models.generateContent(modelId, prompt, null));
+            } catch (Throwable t) {
+                failure = t;
+                call.completeExceptionally(t);
+            } finally {
+                if (timedOut.get()) LIMITER.onOverload();
+                else if (abandoned.get()) LIMITER.onIgnored();
+                else if (failure == null) LIMITER.onSuccess(System.currentTimeMillis() - started);
+                else release(failure);
+            }
+        });
         try {
-            GenerateContentResponse response = geminiClient.models.generateContent(modelId, prompt, null);
-            return response.text() != null ? response.text().trim() : "";
-        } catch (Exception e) {
-            System.err.println("Gemini Error: " + e.getMessage());
-            return "";
+            GenerateContentResponse response = call.get(timeout, TimeUnit.MILLISECONDS);
+            // Safety blocks and empty candidates come back without text: no answer, not an empty one
+            String text = response.text();
+            if (text == null || text.isBlank()) {
+                throw new AIRequestException("Empty answer", 0, false, null);
+            }
+            return text.trim();
+        } catch (TimeoutException e) {
+            timedOut.set(true);
+            throw new AIRequestException("Timed out after " + timeout + " ms", 0, true, e);
+        } catch (ExecutionException e) {
+            throw toRequestException(e.getCause());
+        } catch (InterruptedException e) {
+            abandoned.set(true);
+            Thread.currentThread().interrupt();
+            throw new AIRequestException("Interrupted", 0, false, e);
+        }
+    }
+
+    /** Releases the limiter slot according to what the failure says about server load. */
+    private static void release(Throwable cause) {
+        if (cause instanceof ApiException) {
+            int code = ((ApiException) cause).code();
+            if (code == 429 || code >= 500) LIMITER.onOverload(); else LIMITER.onIgnored();
+            return;
+        }
+        // Transport errors (connection reset, DNS...) say nothing about load
+        LIMITER.onIgnored();
+    }
+
+    private static AIRequestException toRequestException(Throwable cause) {
+        if (cause instanceof ApiException) {
+            int code = ((ApiException) cause).code();
+            boolean overloaded = code == 429 || code >= 500;
+            return new AIRequestException("HTTP " + code + ": " + cause.getMessage(), code, overloaded, cause);
         }
+        // Transport errors are worth another try
+        return new AIRequestException(String.valueOf(cause.getMessage()), 0, true, cause);
     }
-}
\ No newline at end of file
+}
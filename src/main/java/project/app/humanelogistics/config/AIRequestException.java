@@ -0,0 +1,24 @@
+package project.app.humanelogistics.config;
+
+/**
+ * A model call that produced no answer: retries were exhausted, the deadline passed,
+ * or the request was rejected outright. Thrown instead of returning an empty answer so a
+ * failure can never be mistaken for a neutral result.
+ */
+public class AIRequestException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final int statusCode;
+    private final boolean retryable;
+
+    public AIRequestException(String message, int statusCode, boolean retryable, Throwable cause) {
+        super(message, cause);
+        this.statusCode = statusCode;
+        this.retryable = retryable;
+    }
+
+    /** HTTP status reported by the provider, or 0 when the call failed before a response. */
+    public int getStatusCode() { return statusCode; }
+
+    public boolean isRetryable() { return retryable; }
+}
@@ -1,6 +1,8 @@
 package project.app.humanelogistics.config;
 
 import io.github.cdimascio.dotenv.Dotenv;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
 public class AppConfig {
@@ -34,6 +36,127 @@ public class AppConfig {
         // Load Gemini Model from Env or Default
         properties.setProperty("gemini.model",
                 getEnvValue(dotenv, "GEMINI_MODEL", "gemini-2.0-flash"));
+
+        // How long a dashboard topic snapshot is reused before it is recomputed
+        properties.setProperty("dashboard.cache.ttl",
+                getEnvValue(dotenv, "DASHBOARD_CACHE_TTL_SECONDS", "60"));
+
+        // Maximum documents per insertMany/bulkWrite round trip
+        properties.setProperty("db.batch.size",
+                getEnvValue(dotenv, "DB_BATCH_SIZE", "500"));
+
+        // Google News scraping: days fetched in parallel, shared request rate, retries per day
+        properties.setProperty("collector.parallelism",
+                getEnvValue(dotenv, "COLLECTOR_PARALLELISM", "4"));
+        properties.setProperty("collector.rate",
+                getEnvValue(dotenv, "COLLECTOR_REQUESTS_PER_SECOND", "0.7"));
+        properties.setProperty("collector.burst",
+                getEnvValue(dotenv, "COLLECTOR_BURST", "2"));
+        properties.setProperty("collector.retries",
+                getEnvValue(dotenv, "COLLECTOR_MAX_RETRIES", "3"));
+
+        // Article fetching: concurrent requests per host, per-request timeout, overall deadline
+        properties.setProperty("fetch.max.per.host",
+                getEnvValue(dotenv, "FETCH_MAX_PER_HOST", "4"));
+        properties.setProperty("fetch.timeout",
+                getEnvValue(dotenv, "FETCH_TIMEOUT_MS", "5000"));
+        properties.setProperty("fetch.deadline",
+                getEnvValue(dotenv, "FETCH_DEADLINE_MS", "15000"));
+
+        // Streaming article extraction: byte cap per page, enough text to stop early, tags to skip/keep
+        properties.setProperty("fetch.streaming",
+                getEnvValue(dotenv, "FETCH_STREAMING_EXTRACTION", "true"));
+        properties.setProperty("fetch.max.bytes",
+                getEnvValue(dotenv, "FETCH_MAX_BYTES", "524288"));
+        properties.setProperty("fetch.target.chars",
+                getEnvValue(dotenv, "FETCH_TARGET_CHARS", "4000"));
+        properties.setProperty("fetch.skip.tags",
+                getEnvValue(dotenv, "FETCH_SKIP_TAGS", "script,style,noscript,nav,header,footer,aside,form,svg"));
+        properties.setProperty("fetch.text.tags",
+                getEnvValue(dotenv, "FETCH_TEXT_TAGS", "p"));
+
+        // Stored article bodies: characters kept per article, days before a refetch
+        properties.setProperty("article.text.max.chars",
+                getEnvValue(dotenv, "ARTICLE_TEXT_MAX_CHARS", "8000"));
+        properties.setProperty("article.text.max.age",
+                getEnvValue(dotenv, "ARTICLE_TEXT_MAX_AGE_DAYS", "30"));
+
+        // Gemini calls: adaptive concurrency bounds, healthy latency, per-attempt timeout,
+        // overall deadline across retries, and retry count
+        properties.setProperty("ai.concurrency.initial",
+                getEnvValue(dotenv, "AI_INITIAL_CONCURRENCY", "2"));
+        properties.setProperty("ai.concurrency.max",
+                getEnvValue(dotenv, "AI_MAX_CONCURRENCY", "8"));
+        properties.setProperty("ai.latency.target",
+                getEnvValue(dotenv, "AI_LATENCY_TARGET_MS", "8000"));
+        properties.setProperty("ai.timeout",
+                getEnvValue(dotenv, "AI_TIMEOUT_MS", "30000"));
+        properties.setProperty("ai.deadline",
+                getEnvValue(dotenv, "AI_DEADLINE_MS", "90000"));
+        properties.setProperty("ai.retries",
+                getEnvValue(dotenv, "AI_MAX_RETRIES", "4"));
+
+        // Ask for sentiment and damage category in one model request instead of two
+        properties.setProperty("analysis.combined",
+                getEnvValue(dotenv, "ANALYSIS_COMBINED", "true"));
+
+        // Local keyword scoring first; only texts below this confidence (0..1) go to the model
+        properties.setProperty("analysis.tiered",
+                getEnvValue(dotenv, "ANALYSIS_TIERED", "true"));
+        properties.setProperty("analysis.local.confidence",
+                getEnvValue(dotenv, "ANALYSIS_LOCAL_CONFIDENCE", "0.6"));
+        // Local sentiment scorer: "lexicon" (weighted, continuous) or "keyword" (keyword hits only)
+        properties.setProperty("analysis.local.sentiment",
+                getEnvValue(dotenv, "ANALYSIS_LOCAL_SENTIMENT", "lexicon"));
+
+        // Locally trained damage classifier: used instead of DamageClassifier once enabled
+        // (pair with ANALYSIS_COMBINED=false so category calls stop entirely)
+        properties.setProperty("analysis.damage.model.enabled",
+                getEnvValue(dotenv, "DAMAGE_MODEL_ENABLED", "false"));
+        properties.setProperty("analysis.damage.model.path",
+                getEnvValue(dotenv, "DAMAGE_MODEL_PATH", "models/damage-nb.bin"));
+        properties.setProperty("analysis.damage.model.buckets",
+                getEnvValue(dotenv, "DAMAGE_MODEL_BUCKETS", "65536"));
+        properties.setProperty("analysis.damage.model.holdout",
+                getEnvValue(dotenv, "DAMAGE_MODEL_HOLDOUT_PERCENT", "20"));
+
+        // Estimated input tokens per text in single-document prompts; longer texts are condensed
+        properties.setProperty("analysis.token.budget",
+                getEnvValue(dotenv, "ANALYSIS_TOKEN_BUDGET", "500"));
+
+        // Re-analysis selection: attempts before a failing item is left alone, and whether items
+        // analysed by an older analyzer/prompt version are analysed again
+        properties.setProperty("analysis.max.failures",
+                getEnvValue(dotenv, "ANALYSIS_MAX_FAILURES", "3"));
+        properties.setProperty("analysis.reanalyze.outdated",
+                getEnvValue(dotenv, "ANALYSIS_REANALYZE_OUTDATED", "true"));
+
+        // Batched re-analysis: estimated input tokens and items per multi-document prompt
+        properties.setProperty("analysis.batch.tokens",
+                getEnvValue(dotenv, "ANALYSIS_BATCH_TOKENS", "4000"));
+        properties.setProperty("analysis.batch.items",
+                getEnvValue(dotenv, "ANALYSIS_BATCH_MAX_ITEMS", "20"));
+
+        // Cache of model answers: on/off, in-memory entries, directory for the persistent tier ("" = memory only)
+        properties.setProperty("analysis.cache.enabled",
+                getEnvValue(dotenv, "ANALYSIS_CACHE_ENABLED", "true"));
+        properties.setProperty("analysis.cache.size",
+                getEnvValue(dotenv, "ANALYSIS_CACHE_SIZE", "10000"));
+        properties.setProperty("analysis.cache.dir",
+                getEnvValue(dotenv, "ANALYSIS_CACHE_DIR", "cache/analysis"));
+
+        // Staged ingestion: workers per stage and capacity of the queues between them
+        properties.setProperty("pipeline.fetch.workers",
+                getEnvValue(dotenv, "PIPELINE_FETCH_WORKERS", "8"));
+        properties.setProperty("pipeline.analyze.workers",
+                getEnvValue(dotenv, "PIPELINE_ANALYZE_WORKERS", "4"));
+        properties.setProperty("pipeline.persist.workers",
+                getEnvValue(dotenv, "PIPELINE_PERSIST_WORKERS", "2"));
+        properties.setProperty("pipeline.queue.capacity",
+                getEnvValue(dotenv, "PIPELINE_QUEUE_CAPACITY", "32"));
+        // Items buffered by the pipeline before one saveAll/updateAll call
+        properties.setProperty("pipeline.persist.batch",
+                getEnvValue(dotenv, "PIPELINE_PERSIST_BATCH", "50"));
     }
 
     private String getEnvValue(Dotenv dotenv, String key, String defaultValue) {
@@ -73,4 +196,200 @@ public class AppConfig {
     public String getGeminiModel() {
         return properties.getProperty("gemini.model");
     }
+
+    public long getDashboardCacheTtlMillis() {
+        return getIntProperty("dashboard.cache.ttl", 60) * 1000L;
+    }
+
+    public int getDbBatchSize() {
+        return getIntProperty("db.batch.size", 500);
+    }
+
+    public int getCollectorParallelism() {
+        return getIntProperty("collector.parallelism", 4);
+    }
+
+    public double getCollectorRequestsPerSecond() {
+        return getDoubleProperty("collector.rate", 0.7);
+    }
+
+    public int getCollectorBurst() {
+        return getIntProperty("collector.burst", 2);
+    }
+
+    public int getCollectorMaxRetries() {
+        return getIntProperty("collector.retries", 3);
+    }
+
+    public int getFetchMaxPerHost() {
+        return getIntProperty("fetch.max.per.host", 4);
+    }
+
+    public long getFetchTimeoutMillis() {
+        return getIntProperty("fetch.timeout", 5000);
+    }
+
+    public long getFetchDeadlineMillis() {
+        return getIntProperty("fetch.deadline", 15000);
+    }
+
+    public boolean isFetchStreamingEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("fetch.streaming", "true").trim());
+    }
+
+    public long getFetchMaxBytes() {
+        return getIntProperty("fetch.max.bytes", 524288);
+    }
+
+    public int getFetchTargetChars() {
+        return getIntProperty("fetch.target.chars", 4000);
+    }
+
+    public List<String> getFetchSkipTags() {
+        return getListProperty("fetch.skip.tags");
+    }
+
+    public List<String> getFetchTextTags() {
+        return getListProperty("fetch.text.tags");
+    }
+
+    public int getArticleTextMaxChars() {
+        return getIntProperty("article.text.max.chars", 8000);
+    }
+
+    public int getArticleTextMaxAgeDays() {
+        return getIntProperty("article.text.max.age", 30);
+    }
+
+    public int getAiInitialConcurrency() {
+        return getIntProperty("ai.concurrency.initial", 2);
+    }
+
+    public int getAiMaxConcurrency() {
+        return getIntProperty("ai.concurrency.max", 8);
+    }
+
+    public long getAiLatencyTargetMillis() {
+        return getIntProperty("ai.latency.target", 8000);
+    }
+
+    public long getAiTimeoutMillis() {
+        return getIntProperty("ai.timeout", 30000);
+    }
+
+    public long getAiDeadlineMillis() {
+        return getIntProperty("ai.deadline", 90000);
+    }
+
+    public int getAiMaxRetries() {
+        return getIntProperty("ai.retries", 4);
+    }
+
+    public boolean isCombinedAnalysisEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("analysis.combined", "true").trim());
+    }
+
+    public boolean isTieredAnalysisEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("analysis.tiered", "true").trim());
+    }
+
+    public double getLocalConfidenceThreshold() {
+        return getDoubleProperty("analysis.local.confidence", 0.6);
+    }
+
+    public boolean isLexiconSentimentEnabled() {
+        return properties.getProperty("analysis.local.sentiment", "lexicon").trim().equalsIgnoreCase("lexicon");
+    }
+
+    public boolean isDamageModelEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("analysis.damage.model.enabled", "false").trim());
+    }
+
+    public String getDamageModelPath() {
+        return properties.getProperty("analysis.damage.model.path", "models/damage-nb.bin").trim();
+    }
+
+    public int getDamageModelBuckets() {
+        return getIntProperty("analysis.damage.model.buckets", 65536);
+    }
+
+    public int getDamageModelHoldoutPercent() {
+        return getIntProperty("analysis.damage.model.holdout", 20);
+    }
+
+    public int getAnalysisTokenBudget() {
+        return getIntProperty("analysis.token.budget", 500);
+    }
+
+    public int getAnalysisMaxFailures() {
+        return getIntProperty("analysis.max.failures", 3);
+    }
+
+    public boolean isReanalyzeOutdatedEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("analysis.reanalyze.outdated", "true").trim());
+    }
+
+    public int getAnalysisBatchTokens() {
+        return getIntProperty("analysis.batch.tokens", 4000);
+    }
+
+    public int getAnalysisBatchMaxItems() {
+        return getIntProperty("analysis.batch.items", 20);
+    }
+
+    public boolean isAnalysisCacheEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("analysis.cache.enabled", "true").trim());
+    }
+
+    public int getAnalysisCacheSize() {
+        return getIntProperty("analysis.cache.size", 10000);
+    }
+
+    public String getAnalysisCacheDir() {
+        return properties.getProperty("analysis.cache.dir", "").trim();
+    }
+
+    public int getFetchWorkers() {
+        return getIntProperty("pipeline.fetch.workers", 8);
+    }
+
+    public int getAnalyzeWorkers() {
+        return getIntProperty("pipeline.analyze.workers", 4);
+    }
+
+    public int getPersistWorkers() {
+        return getIntProperty("pipeline.persist.workers", 2);
+    }
+
+    public int getQueueCapacity() {
+        return getIntProperty("pipeline.queue.capacity", 32);
+    }
+
+    public int getPersistBatchSize() {
+        return getIntProperty("pipeline.persist.batch", 50);
+    }
+
+    private List<String> getListProperty(String key) {
+        List<String> values = new ArrayList<>();
+        for (String value : properties.getProperty(key, "").split(",")) {
+            if (!value.isBlank()) values.add(value.trim());
+        }
+        return values;
+    }
+
+    private double getDoubleProperty(String key, double defaultValue) {
+        try {
+            return Double.parseDouble(properties.getProperty(key).trim());
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    private int getIntProperty(String key, int defaultValue) {
+        try {
+            return Integer.parseInt(properties.getProperty(key).trim());
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import project.app.humanelogistics.view.DashboardView;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class DashboardController {
 
@@ -15,6 +16,7 @@ public class DashboardController {
     private final ChartService chartService;
 
     private DashboardView view;
+    private CompletableFuture<DashboardStats> pendingStats;
 
     public DashboardController(DashboardService dashboardService,
                                NavigationService navigationService,
@@ -39,8 +41,9 @@ public class DashboardController {
     private void loadDashboardData() {
         view.showStatsLoading();
 
-        AsyncTaskUtil.execute(
-                () -> dashboardService.getDashboardStats(),
+        if (pendingStats != null) pendingStats.cancel(true);
+        pendingStats = AsyncTaskUtil.executeFuture(
+                dashboardService.getDashboardStatsAsync(),
                 stats -> {
                     view.updateDashboardStats(stats);
                     loadCharts();
@@ -85,6 +88,11 @@ public class DashboardController {
         );
     }
 
+    /** Stops a dashboard load that is still waiting on the database or the model. */
+    public void dispose() {
+        if (pendingStats != null) pendingStats.cancel(true);
+    }
+
     private void showHome() {
         navigationService.setActiveButton(view.getHomeButton());
         view.showDefault();
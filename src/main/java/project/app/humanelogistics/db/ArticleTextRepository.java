@@ -0,0 +1,10 @@
+package project.app.humanelogistics.db;
+
+import project.app.humanelogistics.model.Media;
+
+public interface ArticleTextRepository {
+    /** Stored article body for this item, or null when none is stored or it is older than the max age. */
+    String find(Media media);
+
+    void save(Media media, String text);
+}
@@ -0,0 +1,41 @@
+package project.app.humanelogistics.db;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a batch write. {@code getOutcome(i)} lines up with the i-th item passed in,
+ * so callers can keep per-item counters without a round trip per document.
+ */
+public class BulkWriteReport {
+    private final List<WriteOutcome> outcomes;
+
+    public BulkWriteReport(List<WriteOutcome> outcomes) {
+        this.outcomes = new ArrayList<>(outcomes);
+    }
+
+    public static BulkWriteReport empty() {
+        return new BulkWriteReport(Collections.emptyList());
+    }
+
+    public WriteOutcome getOutcome(int index) { return outcomes.get(index); }
+    public List<WriteOutcome> getOutcomes() { return Collections.unmodifiableList(outcomes); }
+    public int size() { return outcomes.size(); }
+
+    public int count(WriteOutcome outcome) {
+        int total = 0;
+        for (WriteOutcome o : outcomes) {
+            if (o == outcome) total++;
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return "Inserted: " + count(WriteOutcome.INSERTED)
+                + " | Updated: " + count(WriteOutcome.UPDATED)
+                + " | Duplicates: " + count(WriteOutcome.DUPLICATE)
+                + " | Failed: " + count(WriteOutcome.FAILED);
+    }
+}
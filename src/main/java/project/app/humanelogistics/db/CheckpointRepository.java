@@ -0,0 +1,10 @@
+package project.app.humanelogistics.db;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+public interface CheckpointRepository {
+    void mark(String collector, String topic, LocalDate day, IngestionState state, String detail);
+
+    Map<LocalDate, IngestionState> findStates(String collector, String topic, LocalDate from, LocalDate to);
+}
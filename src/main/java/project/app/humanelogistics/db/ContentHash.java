@@ -0,0 +1,52 @@
+package project.app.humanelogistics.db;
+
+import project.app.humanelogistics.model.Media;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * SHA-256 identity of a stored item, computed from its normalized title and URL.
+ * Backs the unique index that replaces read-before-insert duplicate checks.
+ */
+public final class ContentHash {
+
+    private ContentHash() {}
+
+    public static String of(Media media) {
+        return of(media.getContent(), media.getUrl());
+    }
+
+    public static String of(String content, String url) {
+        String key = normalizeText(content) + "|" + normalizeUrl(url);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    static String normalizeText(String text) {
+        if (text == null) return "";
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    static String normalizeUrl(String url) {
+        if (url == null) return "";
+        String clean = url.trim();
+        int fragment = clean.indexOf('#');
+        if (fragment >= 0) clean = clean.substring(0, fragment);
+        while (clean.endsWith("/")) clean = clean.substring(0, clean.length() - 1);
+        clean = clean.replaceFirst("(?i)^https?://(www\\.)?", "");
+
+        // Hosts are case-insensitive, paths are not
+        int slash = clean.indexOf('/');
+        return slash < 0
+                ? clean.toLowerCase(Locale.ROOT)
+                : clean.substring(0, slash).toLowerCase(Locale.ROOT) + clean.substring(slash);
+    }
+}
@@ -0,0 +1,223 @@
+package project.app.humanelogistics.db;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import org.bson.Document;
+import project.app.humanelogistics.model.DamageCategory;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Materialized per-day statistics in {@code topic_daily_stats}, one row per
+ * (collection, topic, UTC day, media type) holding count, sentiment sum and
+ * per-DamageCategory counts. Rows are maintained with $inc on every write, so the
+ * dashboard reads a few dozen rows instead of aggregating raw documents.
+ *
+ * The $inc is a separate write from the document it counts. If it fails, the collection
+ * stops being ready and reads fall back to aggregating raw documents until {@link #rebuild}.
+ */
+public class DailyStatsRollup {
+    public static final String COLLECTION_NAME = "topic_daily_stats";
+    private static final ZoneId UTC = ZoneId.of("UTC");
+    private static final String NO_DAY = "none";
+
+    private final MongoCollection<Document> rollups;
+
+    public DailyStatsRollup(MongoClient client, String dbName) {
+        this.rollups = client.getDatabase(dbName).getCollection(COLLECTION_NAME);
+        try {
+            rollups.createIndex(new Document("collection", 1).append("topicKey", 1).append("day", 1),
+                    new IndexOptions().name("collection_topic_day"));
+        } catch (Exception e) {
+            System.err.println("Warning: rollup index unavailable (" + e.getMessage() + ").");
+        }
+    }
+
+    /** Adds freshly inserted documents to their day rows. */
+    public void recordInserts(String collectionName, List<Document> insertedDocs) {
+        Map<String, Delta> deltas = new LinkedHashMap<>();
+        for (Document doc : insertedDocs) {
+            Delta delta = deltas.computeIfAbsent(rowId(collectionName, doc), id -> new Delta(collectionName, doc));
+            delta.count++;
+            delta.sentiment += sentimentOf(doc);
+            delta.damage.merge(damageOf(doc), 1, Integer::sum);
+        }
+        apply(deltas.values());
+    }
+
+    /**
+     * Moves a re-analysed document from its old sentiment/category to the new ones.
+     * {@code before} is the stored document as it was prior to the update.
+     */
+    public void recordReanalysis(String collectionName, List<Document> before, List<Document> after) {
+        Map<String, Delta> deltas = new LinkedHashMap<>();
+        for (int i = 0; i < before.size(); i++) {
+            Document old = before.get(i);
+            Document updated = after.get(i);
+            Delta delta = deltas.computeIfAbsent(rowId(collectionName, old), id -> new Delta(collectionName, old));
+            delta.sentiment += sentimentOf(updated) - sentimentOf(old);
+
+            String oldDamage = damageOf(old);
+            String newDamage = damageOf(updated);
+            if (!oldDamage.equals(newDamage)) {
+                delta.damage.merge(oldDamage, -1, Integer::sum);
+                delta.damage.merge(newDamage, 1, Integer::sum);
+            }
+        }
+        apply(deltas.values());
+    }
+
+    /**
+     * True once {@link #rebuild} has populated rows for this collection and no update has
+     * failed since. Not cached: another process may have invalidated the rollup.
+     */
+    public boolean isReady(String collectionName) {
+        return rollups.find(new Document("_id", metaId(collectionName))).first() != null;
+    }
+
+    public TopicAggregate read(String collectionName, String topic) {
+        TopicAggregate aggregate = new TopicAggregate();
+        Document filter = new Document("collection", collectionName).append("topicKey", TopicKey.of(topic));
+
+        for (Document row : rollups.find(filter)) {
+            int count = row.getInteger("count", 0);
+            double sentiment = toDouble(row.get("sentimentSum"));
+            aggregate.addTotals(count, sentiment);
+
+            String day = row.getString("day");
+            if (day != null && !NO_DAY.equals(day)) {
+                aggregate.addDay(LocalDate.parse(day), count, sentiment);
+            }
+
+            Document damage = row.get("damage", Document.class);
+            if (damage != null) {
+                for (Map.Entry<String, Object> entry : damage.entrySet()) {
+                    int n = entry.getValue() instanceof Number ? ((Number) entry.getValue()).intValue() : 0;
+                    if (n > 0) aggregate.addDamage(DamageCategory.fromText(entry.getKey()), n);
+                }
+            }
+        }
+        return aggregate;
+    }
+
+    /**
+     * Recomputes every row of one collection from the raw documents matching
+     * {@code filter} (projected to the five fields the rollup needs). Writes that land while this runs may be counted
+     * twice; run it while ingestion is stopped.
+     */
+    public int rebuild(String collectionName, MongoCollection<Document> source, Document filter, int batchSize) {
+        Map<String, Delta> rows = new LinkedHashMap<>();
+        Document projection = new Document("topic", 1).append("timestamp", 1).append("type", 1)
+                .append("sentiment", 1).append("damageType", 1);
+
+        for (Document doc : source.find(filter).projection(projection).batchSize(batchSize)) {
+            if (doc.getString("topic") == null) continue;
+            Delta delta = rows.computeIfAbsent(rowId(collectionName, doc), id -> new Delta(collectionName, doc));
+            delta.count++;
+            delta.sentiment += sentimentOf(doc);
+            delta.damage.merge(damageOf(doc), 1, Integer::sum);
+        }
+
+        rollups.deleteMany(new Document("collection", collectionName));
+        apply(rows.values());
+        rollups.replaceOne(new Document("_id", metaId(collectionName)),
+                new Document("_id", metaId(collectionName)).append("rebuiltAt", new Date()),
+                new ReplaceOptions().upsert(true));
+
+        System.out.println("Rollup rebuilt for " + collectionName + ": " + rows.size() + " rows.");
+        return rows.size();
+    }
+
+    private void apply(Collection<Delta> deltas) {
+        if (deltas.isEmpty()) return;
+
+        List<UpdateOneModel<Document>> updates = new ArrayList<>(deltas.size());
+        for (Delta delta : deltas) {
+            Document inc = new Document("count", delta.count).append("sentimentSum", delta.sentiment);
+            for (Map.Entry<String, Integer> entry : delta.damage.entrySet()) {
+                if (entry.getValue() != 0) inc.append("damage." + entry.getKey(), entry.getValue());
+            }
+            updates.add(new UpdateOneModel<>(
+                    new Document("_id", delta.id),
+                    new Document("$inc", inc).append("$setOnInsert", new Document("collection", delta.collection)
+                            .append("topicKey", delta.topicKey)
+                            .append("day", delta.day)
+                            .append("type", delta.type)),
+                    new UpdateOptions().upsert(true)));
+        }
+        try {
+            rollups.bulkWrite(updates, new BulkWriteOptions().ordered(false));
+        } catch (Exception e) {
+            System.err.println("Rollup update failed: " + e.getMessage());
+            Set<String> collections = new LinkedHashSet<>();
+            for (Delta delta : deltas) collections.add(delta.collection);
+            collections.forEach(this::invalidate);
+        }
+    }
+
+    /** Rows may have missed a write: stop serving them until the next rebuild. */
+    private void invalidate(String collectionName) {
+        try {
+            rollups.deleteOne(new Document("_id", metaId(collectionName)));
+            System.err.println("Rollup for " + collectionName + " disabled until rebuilt.");
+        } catch (Exception e) {
+            System.err.println("Could not disable rollup for " + collectionName + ": " + e.getMessage());
+        }
+    }
+
+    private static String rowId(String collectionName, Document doc) {
+        return collectionName + "|" + TopicKey.of(doc.getString("topic")) + "|" + dayOf(doc) + "|" + typeOf(doc);
+    }
+
+    private static String metaId(String collectionName) {
+        return "meta|" + collectionName;
+    }
+
+    private static String dayOf(Document doc) {
+        Date timestamp = doc.getDate("timestamp");
+        return timestamp == null ? NO_DAY : timestamp.toInstant().atZone(UTC).toLocalDate().toString();
+    }
+
+    private static String typeOf(Document doc) {
+        String type = doc.getString("type");
+        return type != null ? type : "social_post";
+    }
+
+    private static double sentimentOf(Document doc) {
+        return toDouble(doc.get("sentiment"));
+    }
+
+    private static String damageOf(Document doc) {
+        return DamageCategory.fromText(doc.getString("damageType")).name();
+    }
+
+    private static double toDouble(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : 0.0;
+    }
+
+    private static final class Delta {
+        private final String id;
+        private final String collection;
+        private final String topicKey;
+        private final String day;
+        private final String type;
+        private int count;
+        private double sentiment;
+        private final Map<String, Integer> damage = new HashMap<>();
+
+        private Delta(String collection, Document doc) {
+            this.id = rowId(collection, doc);
+            this.collection = collection;
+            this.topicKey = TopicKey.of(doc.getString("topic"));
+            this.day = dayOf(doc);
+            this.type = typeOf(doc);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package project.app.humanelogistics.db;
+
+/**
+ * How far a (collector, topic, day) has progressed through ingestion.
+ * Later states imply the earlier ones; FAILED means the day must be redone.
+ */
+public enum IngestionState {
+    FAILED,
+    SCRAPED,
+    PERSISTED,
+    ANALYZED;
+
+    public boolean isAtLeast(IngestionState other) {
+        return this != FAILED && ordinal() >= other.ordinal();
+    }
+}
@@ -0,0 +1,34 @@
+package project.app.humanelogistics.db;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Optional fields of a stored item, used to project streaming queries. Topic and
+ * media type are always returned; anything not requested comes back as its default
+ * (empty content/url, neutral sentiment, UNKNOWN damage, no comments).
+ */
+public enum MediaField {
+    CONTENT("content"),
+    URL("url"),
+    TIMESTAMP("timestamp"),
+    SENTIMENT("sentiment"),
+    DAMAGE_TYPE("damageType"),
+    SOURCE("source"),
+    COMMENTS("comments");
+
+    private final String fieldName;
+
+    MediaField(String fieldName) { this.fieldName = fieldName; }
+
+    public String getFieldName() { return fieldName; }
+
+    public static Set<MediaField> all() {
+        return EnumSet.allOf(MediaField.class);
+    }
+
+    /** What statistics need: no text, no comments. */
+    public static Set<MediaField> statistics() {
+        return EnumSet.of(TIMESTAMP, SENTIMENT, DAMAGE_TYPE);
+    }
+}
@@ -1,7 +1,12 @@
 package project.app.humanelogistics.db;
 
+import project.app.humanelogistics.model.DamageCategory;
 import project.app.humanelogistics.model.MediaAnalysis;
+
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface MediaRepository {
     boolean save(MediaAnalysis analysis);
@@ -9,4 +14,74 @@ public interface MediaRepository {
     void updateAnalysis(MediaAnalysis analysis);
 
     List<MediaAnalysis> findByTopic(String topic);
-}
\ No newline at end of file
+
+    /**
+     * Streams a topic without materializing it. Only {@code fields} are loaded and
+     * the cursor fetches {@code batchSize} documents per round trip. The stream holds
+     * a cursor and must be closed (try-with-resources).
+     */
+    default Stream<MediaAnalysis> streamByTopic(String topic, Set<MediaField> fields, int batchSize) {
+        return findByTopic(topic).stream();
+    }
+
+    /**
+     * Items of a topic that still need analysis: pending, failed fewer than
+     * {@code maxFailures} times, or analysed by a version other than {@code currentVersion}
+     * (pass null to leave outdated results alone). Items stored before analysis status
+     * existed count as pending while their score is 0.0 or their category UNKNOWN.
+     * Same cursor contract as {@link #streamByTopic}. The default filters on the client and,
+     * having no failure counts, retries every failed item.
+     */
+    default Stream<MediaAnalysis> streamNeedingAnalysis(String topic, Set<MediaField> fields, int batchSize,
+                                                        String currentVersion, int maxFailures) {
+        return streamByTopic(topic, fields, batchSize).filter(item -> switch (item.getStatus()) {
+            case ANALYZED -> currentVersion != null && !currentVersion.equals(item.getAnalysisVersion());
+            case FAILED -> true;
+            case PENDING -> item.getSentiment().getValue() == 0.0
+                    || item.getDamageCategory() == DamageCategory.UNKNOWN;
+        });
+    }
+
+    /**
+     * Count, sentiment and damage totals for a topic. The default folds a projected
+     * {@link #streamByTopic} on the client; database-backed repositories should
+     * compute it server-side.
+     */
+    default TopicAggregate aggregateTopic(String topic) {
+        try (Stream<MediaAnalysis> items = streamByTopic(topic, MediaField.statistics(), 1000)) {
+            return TopicAggregate.fromAnalyses(items);
+        }
+    }
+
+    /**
+     * Saves many items at once. Outcomes are reported in input order.
+     * The default falls back to one {@link #save} per item.
+     */
+    default BulkWriteReport saveAll(List<MediaAnalysis> analyses) {
+        List<WriteOutcome> outcomes = new ArrayList<>(analyses.size());
+        for (MediaAnalysis analysis : analyses) {
+            try {
+                outcomes.add(save(analysis) ? WriteOutcome.INSERTED : WriteOutcome.DUPLICATE);
+            } catch (Exception e) {
+                outcomes.add(WriteOutcome.FAILED);
+            }
+        }
+        return new BulkWriteReport(outcomes);
+    }
+
+    /**
+     * Updates the analysis fields of many items at once. Outcomes are reported in input order.
+     */
+    default BulkWriteReport updateAll(List<MediaAnalysis> analyses) {
+        List<WriteOutcome> outcomes = new ArrayList<>(analyses.size());
+        for (MediaAnalysis analysis : analyses) {
+            try {
+                updateAnalysis(analysis);
+                outcomes.add(WriteOutcome.UPDATED);
+            } catch (Exception e) {
+                outcomes.add(WriteOutcome.FAILED);
+            }
+        }
+        return new BulkWriteReport(outcomes);
+    }
+}
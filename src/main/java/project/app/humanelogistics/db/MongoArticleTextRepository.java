@@ -0,0 +1,103 @@
+package project.app.humanelogistics.db;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.ReplaceOptions;
+import org.bson.Document;
+import org.bson.types.Binary;
+import project.app.humanelogistics.model.Media;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Extracted article bodies in {@code article_texts}, keyed by the item's content hash so
+ * news and posts share one store and the media documents stay small. Text is capped at
+ * {@code maxChars} and stored deflate-compressed.
+ */
+public class MongoArticleTextRepository implements ArticleTextRepository {
+    public static final String COLLECTION_NAME = "article_texts";
+
+    private final MongoCollection<Document> collection;
+    private final int maxChars;
+    private final long maxAgeMillis;
+
+    public MongoArticleTextRepository(MongoClient client, String dbName, int maxChars, int maxAgeDays) {
+        this.collection = client.getDatabase(dbName).getCollection(COLLECTION_NAME);
+        this.maxChars = Math.max(1, maxChars);
+        this.maxAgeMillis = Math.max(1, maxAgeDays) * 24L * 60 * 60 * 1000;
+    }
+
+    @Override
+    public String find(Media media) {
+        try {
+            Document doc = collection.find(new Document("_id", ContentHash.of(media))).first();
+            if (doc == null) return null;
+
+            Date fetchedAt = doc.getDate("fetchedAt");
+            if (fetchedAt == null || System.currentTimeMillis() - fetchedAt.getTime() > maxAgeMillis) {
+                return null; // Stale: caller refetches and overwrites
+            }
+            Binary body = doc.get("body", Binary.class);
+            return body != null ? inflate(body.getData()) : null;
+        } catch (MongoException | DataFormatException e) {
+            System.err.println("Article text read failed: " + e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void save(Media media, String text) {
+        if (text == null || text.isEmpty()) return;
+        String capped = text.length() > maxChars ? text.substring(0, maxChars) : text;
+
+        Document doc = new Document("_id", ContentHash.of(media))
+                .append("url", media.getUrl())
+                .append("chars", capped.length())
+                .append("body", new Binary(deflate(capped)))
+                .append("fetchedAt", new Date());
+        try {
+            collection.replaceOne(new Document("_id", doc.get("_id")), doc, new ReplaceOptions().upsert(true));
+        } catch (MongoException e) {
+            System.err.println("Article text write failed: " + e.getMessage());
+        }
+    }
+
+    private static byte[] deflate(String text) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(text.getBytes(StandardCharsets.UTF_8));
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(text.length() / 2 + 16);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static String inflate(byte[] data) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 3);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                out.write(buffer, 0, n);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package project.app.humanelogistics.db;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.UpdateOptions;
+import org.bson.Document;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Checkpoints in {@code ingestion_checkpoints}, one document per (collector, topic key, day).
+ */
+public class MongoCheckpointRepository implements CheckpointRepository {
+    public static final String COLLECTION_NAME = "ingestion_checkpoints";
+
+    private final MongoCollection<Document> collection;
+
+    public MongoCheckpointRepository(MongoClient client, String dbName) {
+        this.collection = client.getDatabase(dbName).getCollection(COLLECTION_NAME);
+        try {
+            collection.createIndex(new Document("collector", 1).append("topicKey", 1).append("day", 1),
+                    new IndexOptions().name("collector_topic_day"));
+        } catch (MongoException e) {
+            System.err.println("Warning: checkpoint index unavailable (" + e.getMessage() + ").");
+        }
+    }
+
+    @Override
+    public void mark(String collector, String topic, LocalDate day, IngestionState state, String detail) {
+        String topicKey = TopicKey.of(topic);
+        Document set = new Document("collector", collector)
+                .append("topicKey", topicKey)
+                .append("day", day.toString())
+                .append("state", state.name())
+                .append("detail", detail)
+                .append("updatedAt", new Date());
+        Document update = new Document("$set", set);
+        if (state == IngestionState.FAILED) {
+            update.append("$inc", new Document("failures", 1));
+        }
+
+        try {
+            collection.updateOne(new Document("_id", collector + "|" + topicKey + "|" + day),
+                    update, new UpdateOptions().upsert(true));
+        } catch (MongoException e) {
+            System.err.println("Checkpoint write failed for " + day + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Map<LocalDate, IngestionState> findStates(String collector, String topic, LocalDate from, LocalDate to) {
+        Map<LocalDate, IngestionState> states = new TreeMap<>();
+        Document filter = new Document("collector", collector)
+                .append("topicKey", TopicKey.of(topic))
+                .append("day", new Document("$gte", from.toString()).append("$lte", to.toString()));
+
+        for (Document doc : collection.find(filter).projection(new Document("day", 1).append("state", 1))) {
+            try {
+                states.put(LocalDate.parse(doc.getString("day")), IngestionState.valueOf(doc.getString("state")));
+            } catch (Exception e) {
+                System.err.println("Skipping checkpoint: " + e.getMessage());
+            }
+        }
+        return states;
+    }
+}
@@ -1,29 +1,295 @@
 package project.app.humanelogistics.db;
 
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoException;
+import com.mongodb.MongoWriteException;
+import com.mongodb.bulk.BulkWriteError;
 import com.mongodb.client.*;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.UpdateOneModel;
 import org.bson.Document;
 import project.app.humanelogistics.model.*;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Date;
+import java.time.LocalDate;
+import java.util.*;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class MongoMediaRepository implements MediaRepository {
+    private static final int DEFAULT_BATCH_SIZE = 500;
+    private static final String HASH_FIELD = "contentHash";
+    private static final String DUPLICATE_OF_FIELD = "duplicateOf";
+    private static final String TOPIC_KEY_FIELD = "topicKey";
+    private static final String MIGRATIONS_COLLECTION = "schema_migrations";
+    private static final String STATUS_FIELD = "analysisStatus";
+    private static final String VERSION_FIELD = "analysisVersion";
+    private static final String ANALYZED_AT_FIELD = "analyzedAt";
+    private static final String FAILURES_FIELD = "analysisFailures";
+
+    // Fields the rollup needs to compute a delta
+    private static final Document ROLLUP_PROJECTION = new Document("topic", 1).append("timestamp", 1)
+            .append("type", 1).append("sentiment", 1).append("damageType", 1);
+
     private final MongoCollection<Document> collection;
+    private final MongoCollection<Document> migrations;
+    private final String collectionName;
+    private final int batchSize;
+    private final DailyStatsRollup rollup;
+    private volatile boolean hashIndexReady;
+    private volatile boolean topicKeyReady;
 
     public MongoMediaRepository(MongoClient client, String dbName, String collectionName) {
+        this(client, dbName, collectionName, DEFAULT_BATCH_SIZE, null);
+    }
+
+    public MongoMediaRepository(MongoClient client, String dbName, String collectionName,
+                                int batchSize, DailyStatsRollup rollup) {
         this.collection = client.getDatabase(dbName).getCollection(collectionName);
+        this.migrations = client.getDatabase(dbName).getCollection(MIGRATIONS_COLLECTION);
+        this.collectionName = collectionName;
+        this.batchSize = Math.max(1, batchSize);
+        this.rollup = rollup;
+        this.hashIndexReady = ensureContentHashIndex() && isMigrated("contentHash", unhashedFilter());
+        this.topicKeyReady = ensureTopicKeyIndexes() && isMigrated("topicKey", missingTopicKeyFilter());
+    }
+
+    /**
+     * Compound indexes behind every dashboard query: exact topicKey match, then
+     * range/sort on timestamp or grouping on damageType; and behind the selection
+     * of items that still need analysis.
+     */
+    private boolean ensureTopicKeyIndexes() {
+        try {
+            collection.createIndex(new Document(TOPIC_KEY_FIELD, 1).append("timestamp", 1),
+                    new IndexOptions().name("topicKey_timestamp"));
+            collection.createIndex(new Document(TOPIC_KEY_FIELD, 1).append("damageType", 1),
+                    new IndexOptions().name("topicKey_damageType"));
+            collection.createIndex(new Document(TOPIC_KEY_FIELD, 1).append(STATUS_FIELD, 1),
+                    new IndexOptions().name("topicKey_analysisStatus"));
+            return true;
+        } catch (MongoException e) {
+            System.err.println("Warning: topicKey indexes unavailable (" + e.getMessage() + ").");
+            return false;
+        }
+    }
+
+    /**
+     * Unique index on contentHash. Only documents that carry a hash are indexed, so
+     * un-migrated rows do not collide on a missing key. Until
+     * {@link #backfillContentHashes()} has stamped them, dedup falls back to a read first.
+     */
+    private boolean ensureContentHashIndex() {
+        try {
+            collection.createIndex(
+                    new Document(HASH_FIELD, 1),
+                    new IndexOptions()
+                            .name("contentHash_unique")
+                            .unique(true)
+                            .partialFilterExpression(new Document(HASH_FIELD, new Document("$type", "string")))
+            );
+            return true;
+        } catch (MongoException e) {
+            System.err.println("Warning: contentHash index unavailable (" + e.getMessage() + ").");
+            return false;
+        }
+    }
+
+    /**
+     * A migration is complete once no document matches {@code legacyFilter}. The answer is
+     * remembered in {@code schema_migrations} so the (unindexed) legacy scan runs only
+     * until it first comes back empty, not on every start-up.
+     */
+    private boolean isMigrated(String migration, Document legacyFilter) {
+        String id = collectionName + ":" + migration;
+        try {
+            if (migrations.find(new Document("_id", id)).first() != null) return true;
+            if (collection.find(legacyFilter).projection(new Document("_id", 1)).first() != null) return false;
+
+            migrations.replaceOne(new Document("_id", id),
+                    new Document("_id", id).append("completedAt", new Date()),
+                    new ReplaceOptions().upsert(true));
+            return true;
+        } catch (MongoException e) {
+            return false;
+        }
+    }
+
+    private Document missingTopicKeyFilter() {
+        return new Document(TOPIC_KEY_FIELD, new Document("$exists", false));
+    }
+
+    private Document unhashedFilter() {
+        return new Document(HASH_FIELD, new Document("$exists", false))
+                .append(DUPLICATE_OF_FIELD, new Document("$exists", false));
     }
 
     @Override
     public boolean save(MediaAnalysis analysis) {
         Media item = analysis.getMedia();
 
-        // If content exists, return false (Duplicate)
-        if(findByContent(item.getContent())) return false;
+        // Until the backfill has run, legacy rows have no hash, so look before we insert
+        if (!hashIndexReady && existsByHashOrContent(ContentHash.of(item), item.getContent())) return false;
+
+        try {
+            Document doc = toDocument(analysis);
+            collection.insertOne(doc);
+            if (rollup != null) rollup.recordInserts(collectionName, List.of(doc));
+            return true; // Successfully saved
+        } catch (MongoWriteException e) {
+            // If content exists, return false (Duplicate)
+            if (e.getError().getCategory() == ErrorCategory.DUPLICATE_KEY) return false;
+            throw e;
+        }
+    }
+
+    @Override
+    public BulkWriteReport saveAll(List<MediaAnalysis> analyses) {
+        WriteOutcome[] outcomes = new WriteOutcome[analyses.size()];
+        for (int start = 0; start < analyses.size(); start += batchSize) {
+            insertChunk(analyses, start, Math.min(start + batchSize, analyses.size()), outcomes);
+        }
+        return new BulkWriteReport(Arrays.asList(outcomes));
+    }
+
+    private void insertChunk(List<MediaAnalysis> analyses, int start, int end, WriteOutcome[] outcomes) {
+        List<String> hashes = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            hashes.add(ContentHash.of(analyses.get(i).getMedia()));
+        }
+
+        Set<String> existingHashes = new HashSet<>();
+        Set<String> existingContents = new HashSet<>();
+        if (!hashIndexReady) {
+            // One $in lookup per chunk instead of a find() per item; legacy documents have no
+            // hash yet, so content is matched too, as save() does
+            List<String> contents = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                String content = analyses.get(i).getMedia().getContent();
+                if (content != null) contents.add(content);
+            }
+            try {
+                findExisting(hashes, contents, existingHashes, existingContents);
+            } catch (MongoException e) {
+                System.err.println("Bulk duplicate check failed: " + e.getMessage());
+                Arrays.fill(outcomes, start, end, WriteOutcome.FAILED);
+                return;
+            }
+        }
+
+        List<Document> docs = new ArrayList<>();
+        List<Integer> docIndexes = new ArrayList<>();
+        Set<String> seenInChunk = new HashSet<>();
+
+        for (int i = start; i < end; i++) {
+            String hash = hashes.get(i - start);
+            if (existingHashes.contains(hash)
+                    || existingContents.contains(analyses.get(i).getMedia().getContent())
+                    || !seenInChunk.add(hash)) {
+                outcomes[i] = WriteOutcome.DUPLICATE;
+                continue;
+            }
+            docs.add(toDocument(analyses.get(i)));
+            docIndexes.add(i);
+            outcomes[i] = WriteOutcome.INSERTED;
+        }
+
+        if (docs.isEmpty()) return;
+
+        // Unordered: a duplicate-key error on one document does not stop the rest
+        try {
+            collection.insertMany(docs, new InsertManyOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            for (BulkWriteError error : e.getWriteErrors()) {
+                int index = docIndexes.get(error.getIndex());
+                outcomes[index] = ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY
+                        ? WriteOutcome.DUPLICATE
+                        : WriteOutcome.FAILED;
+            }
+        } catch (MongoException e) {
+            System.err.println("Bulk insert failed: " + e.getMessage());
+            for (int index : docIndexes) outcomes[index] = WriteOutcome.FAILED;
+        }
+
+        if (rollup != null) {
+            List<Document> inserted = new ArrayList<>(docs.size());
+            for (int j = 0; j < docs.size(); j++) {
+                if (outcomes[docIndexes.get(j)] == WriteOutcome.INSERTED) inserted.add(docs.get(j));
+            }
+            rollup.recordInserts(collectionName, inserted);
+        }
+    }
+
+    private void findExisting(List<String> hashes, List<String> contents,
+                              Set<String> existingHashes, Set<String> existingContents) {
+        Document filter = new Document("$or", List.of(
+                new Document(HASH_FIELD, new Document("$in", hashes)),
+                new Document("content", new Document("$in", contents))));
+        for (Document doc : collection.find(filter).projection(new Document(HASH_FIELD, 1).append("content", 1))) {
+            String hash = doc.getString(HASH_FIELD);
+            if (hash != null) existingHashes.add(hash);
+            String content = doc.getString("content");
+            if (content != null) existingContents.add(content);
+        }
+    }
+
+    /**
+     * One-time migration: stamps contentHash on documents stored before it existed,
+     * then builds the unique index. Later copies of an already-hashed item are not
+     * deleted; they are tagged with {@code duplicateOf}, left out of the index and
+     * excluded from every read (topic queries, analysis selection, training, stats).
+     */
+    public int backfillContentHashes() {
+        Set<String> seen = new HashSet<>();
+        for (Document doc : collection.find(new Document(HASH_FIELD, new Document("$type", "string")))
+                .projection(new Document(HASH_FIELD, 1))) {
+            seen.add(doc.getString(HASH_FIELD));
+        }
+
+        List<UpdateOneModel<Document>> updates = new ArrayList<>();
+        int stamped = 0;
+        int duplicates = 0;
+
+        for (Document doc : collection.find(unhashedFilter())
+                .projection(new Document("content", 1).append("url", 1))
+                .batchSize(batchSize)) {
+            String content = doc.getString("content");
+            if (content == null) continue;
+
+            String hash = ContentHash.of(content, doc.getString("url"));
+            boolean taken = !seen.add(hash);
+            String field = taken ? DUPLICATE_OF_FIELD : HASH_FIELD;
+            if (taken) duplicates++; else stamped++;
+
+            updates.add(new UpdateOneModel<>(new Document("_id", doc.get("_id")),
+                    new Document("$set", new Document(field, hash))));
+            if (updates.size() >= batchSize) {
+                collection.bulkWrite(updates, new BulkWriteOptions().ordered(false));
+                updates.clear();
+            }
+        }
+        if (!updates.isEmpty()) {
+            collection.bulkWrite(updates, new BulkWriteOptions().ordered(false));
+        }
+
+        System.out.println("Backfill (" + collectionName + "): hashed "
+                + stamped + ", tagged " + duplicates + " legacy duplicates.");
+        hashIndexReady = ensureContentHashIndex() && isMigrated("contentHash", unhashedFilter());
+        return stamped;
+    }
+
+    private Document toDocument(MediaAnalysis analysis) {
+        Media item = analysis.getMedia();
 
         Document doc = new Document("topic", item.getTopic())
+                .append(TOPIC_KEY_FIELD, TopicKey.of(item.getTopic()))
+                .append(HASH_FIELD, ContentHash.of(item))
                 .append("content", item.getContent())
                 .append("url", item.getUrl())
                 .append("timestamp", item.getTimestamp());
@@ -31,6 +297,12 @@ public class MongoMediaRepository implements MediaRepository {
         // Save Analysis Fields from the wrapper
         doc.append("sentiment", analysis.getSentiment().getValue());
         doc.append("damageType", analysis.getDamageCategory().name());
+        doc.append(STATUS_FIELD, analysis.getStatus().name());
+        doc.append(FAILURES_FIELD, analysis.getStatus() == AnalysisStatus.FAILED ? 1 : 0);
+        if (analysis.getStatus() == AnalysisStatus.ANALYZED) {
+            doc.append(VERSION_FIELD, analysis.getAnalysisVersion());
+            doc.append(ANALYZED_AT_FIELD, new Date());
+        }
 
         if (item instanceof News) {
             doc.append("source", ((News) item).getSource());
@@ -39,46 +311,323 @@ public class MongoMediaRepository implements MediaRepository {
             doc.append("comments", ((SocialPost) item).getComments());
             doc.append("type", "social_post");
         }
-
-        collection.insertOne(doc);
-        return true; // Successfully saved
+        return doc;
     }
 
     @Override
     public void updateAnalysis(MediaAnalysis analysis) {
+        // A failed attempt leaves the results alone, so there is no rollup delta to move
+        if (rollup == null || analysis.getStatus() == AnalysisStatus.FAILED) {
+            collection.updateOne(matchFilter(analysis), analysisUpdate(analysis));
+            return;
+        }
+
+        // Return the pre-update values so the rollup can move the delta
+        Document before = collection.findOneAndUpdate(matchFilter(analysis), analysisUpdate(analysis),
+                new FindOneAndUpdateOptions().projection(ROLLUP_PROJECTION).returnDocument(ReturnDocument.BEFORE));
+        if (before != null) {
+            rollup.recordReanalysis(collectionName, List.of(before), List.of(analysisValues(analysis)));
+        }
+    }
+
+    @Override
+    public BulkWriteReport updateAll(List<MediaAnalysis> analyses) {
+        WriteOutcome[] outcomes = new WriteOutcome[analyses.size()];
+        for (int start = 0; start < analyses.size(); start += batchSize) {
+            int end = Math.min(start + batchSize, analyses.size());
+
+            List<UpdateOneModel<Document>> updates = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                updates.add(new UpdateOneModel<>(matchFilter(analyses.get(i)), analysisUpdate(analyses.get(i))));
+            }
+            Arrays.fill(outcomes, start, end, WriteOutcome.UPDATED);
+            Map<String, Document> before = rollup != null ? findCurrentValues(analyses.subList(start, end)) : Map.of();
+
+            try {
+                collection.bulkWrite(updates, new BulkWriteOptions().ordered(false));
+            } catch (MongoBulkWriteException e) {
+                for (BulkWriteError error : e.getWriteErrors()) {
+                    outcomes[start + error.getIndex()] = WriteOutcome.FAILED;
+                }
+            } catch (MongoException e) {
+                System.err.println("Bulk update failed: " + e.getMessage());
+                Arrays.fill(outcomes, start, end, WriteOutcome.FAILED);
+            }
+
+            if (rollup != null) {
+                List<Document> oldValues = new ArrayList<>();
+                List<Document> newValues = new ArrayList<>();
+                for (int i = start; i < end; i++) {
+                    Document old = before.get(matchKey(analyses.get(i)));
+                    if (outcomes[i] == WriteOutcome.UPDATED && old != null
+                            && analyses.get(i).getStatus() != AnalysisStatus.FAILED) {
+                        oldValues.add(old);
+                        newValues.add(analysisValues(analyses.get(i)));
+                    }
+                }
+                rollup.recordReanalysis(collectionName, oldValues, newValues);
+            }
+        }
+        return new BulkWriteReport(Arrays.asList(outcomes));
+    }
+
+    private Map<String, Document> findCurrentValues(List<MediaAnalysis> analyses) {
+        String field = hashIndexReady ? HASH_FIELD : "content";
+        List<String> keys = new ArrayList<>(analyses.size());
+        for (MediaAnalysis analysis : analyses) keys.add(matchKey(analysis));
+
+        Map<String, Document> current = new HashMap<>();
+        try {
+            Document projection = new Document(ROLLUP_PROJECTION).append(field, 1);
+            for (Document doc : collection.find(new Document(field, new Document("$in", keys))).projection(projection)) {
+                current.putIfAbsent(doc.getString(field), doc);
+            }
+        } catch (MongoException e) {
+            System.err.println("Rollup pre-read failed: " + e.getMessage());
+        }
+        return current;
+    }
+
+    private String matchKey(MediaAnalysis analysis) {
         Media item = analysis.getMedia();
-        collection.updateOne(
-                new Document("content", item.getContent()), // Match by content ID
-                new Document("$set", new Document()
-                        .append("sentiment", analysis.getSentiment().getValue())
-                        .append("damageType", analysis.getDamageCategory().name())
-                )
-        );
+        return hashIndexReady ? ContentHash.of(item) : item.getContent();
+    }
+
+    private Document analysisValues(MediaAnalysis analysis) {
+        return new Document("sentiment", analysis.getSentiment().getValue())
+                .append("damageType", analysis.getDamageCategory().name());
+    }
+
+    private Document matchFilter(MediaAnalysis analysis) {
+        if (!hashIndexReady) {
+            return new Document("content", matchKey(analysis)); // Match by content ID
+        }
+        return new Document(HASH_FIELD, matchKey(analysis));
+    }
+
+    /**
+     * Results plus analysis metadata. A failed attempt keeps the stored results and only
+     * counts the failure; a successful one resets the count.
+     */
+    private Document analysisUpdate(MediaAnalysis analysis) {
+        AnalysisStatus status = analysis.getStatus();
+        if (status == AnalysisStatus.FAILED) {
+            return new Document("$set", new Document(STATUS_FIELD, status.name()))
+                    .append("$inc", new Document(FAILURES_FIELD, 1));
+        }
+
+        Document values = analysisValues(analysis).append(STATUS_FIELD, status.name());
+        if (status == AnalysisStatus.ANALYZED) {
+            values.append(VERSION_FIELD, analysis.getAnalysisVersion())
+                    .append(ANALYZED_AT_FIELD, new Date())
+                    .append(FAILURES_FIELD, 0);
+        }
+        return new Document("$set", values);
     }
 
     @Override
     public List<MediaAnalysis> findByTopic(String topic) {
         List<MediaAnalysis> items = new ArrayList<>();
+        try (Stream<MediaAnalysis> stream = streamByTopic(topic, MediaField.all(), batchSize)) {
+            stream.forEachOrdered(items::add);
+        }
+        return items;
+    }
+
+    /**
+     * Cursor-backed stream: documents are pulled {@code cursorBatchSize} at a time and
+     * mapped one by one, so memory stays flat however large the topic is.
+     */
+    @Override
+    public Stream<MediaAnalysis> streamByTopic(String topic, Set<MediaField> fields, int cursorBatchSize) {
+        return stream(topicFilter(topic), fields, cursorBatchSize);
+    }
+
+    /**
+     * Selected on the server, so a run reads only the items it will analyse rather than
+     * the whole topic. Documents without a status predate it and keep the old rule.
+     */
+    @Override
+    public Stream<MediaAnalysis> streamNeedingAnalysis(String topic, Set<MediaField> fields, int cursorBatchSize,
+                                                       String currentVersion, int maxFailures) {
+        List<Document> needing = new ArrayList<>();
+        needing.add(new Document(STATUS_FIELD, AnalysisStatus.PENDING.name()));
+        needing.add(new Document(STATUS_FIELD, AnalysisStatus.FAILED.name())
+                .append(FAILURES_FIELD, new Document("$lt", maxFailures)));
+        if (currentVersion != null) {
+            needing.add(new Document(STATUS_FIELD, AnalysisStatus.ANALYZED.name())
+                    .append(VERSION_FIELD, new Document("$ne", currentVersion)));
+        }
+        needing.add(new Document(STATUS_FIELD, new Document("$exists", false))
+                .append("$or", List.of(new Document("sentiment", 0.0),
+                        new Document("damageType", DamageCategory.UNKNOWN.name()))));
+
+        Document filter = new Document("$and", List.of(topicFilter(topic), new Document("$or", needing)));
+        return stream(filter, fields, cursorBatchSize);
+    }
 
-        // Use Regex for case-insensitive and whitespace-tolerant matching
+    /**
+     * Every item, across topics, whose damage type was set by an analysis; the training set
+     * for a local classifier. UNKNOWN counts as a label once the item is marked analysed;
+     * on older documents without a status it cannot be told from "never analysed", so only
+     * real categories are taken there. Same cursor contract as {@link #streamByTopic}.
+     */
+    public Stream<MediaAnalysis> streamLabeled(Set<MediaField> fields, int cursorBatchSize) {
+        List<Document> labeled = new ArrayList<>();
+        labeled.add(new Document(STATUS_FIELD, AnalysisStatus.ANALYZED.name()));
+        labeled.add(new Document(STATUS_FIELD, new Document("$exists", false))
+                .append("damageType", new Document("$nin", Arrays.asList(DamageCategory.UNKNOWN.name(), null, ""))));
+
+        Document filter = new Document("damageType", new Document("$exists", true)
+                .append("$nin", Arrays.asList(null, "")))
+                .append(DUPLICATE_OF_FIELD, notTagged())
+                .append("$or", labeled);
+        return stream(filter, fields, cursorBatchSize);
+    }
+
+    private Stream<MediaAnalysis> stream(Document filter, Set<MediaField> fields, int cursorBatchSize) {
+        Document projection = new Document("topic", 1).append("type", 1)
+                .append(STATUS_FIELD, 1).append(VERSION_FIELD, 1);
+        for (MediaField field : fields) {
+            projection.append(field.getFieldName(), 1);
+        }
+        boolean withContent = fields.contains(MediaField.CONTENT);
+
+        MongoCursor<Document> cursor = collection.find(filter)
+                .projection(projection)
+                .batchSize(Math.max(1, cursorBatchSize))
+                .cursor();
+
+        Spliterator<Document> spliterator = Spliterators.spliteratorUnknownSize(
+                cursor, Spliterator.ORDERED | Spliterator.NONNULL);
+
+        return StreamSupport.stream(spliterator, false)
+                .onClose(cursor::close)
+                .map(doc -> {
+                    if (!withContent) doc.put("content", "");
+                    try {
+                        return mapDocumentToAnalysis(doc);
+                    } catch (Exception e) {
+                        System.err.println("Skipping doc: " + e.getMessage());
+                        return null;
+                    }
+                })
+                .filter(Objects::nonNull);
+    }
+
+    /**
+     * Count, sentiment sum, per-day sums and per-category counts. Served from the
+     * daily rollup once it has been rebuilt; otherwise a single $facet round trip
+     * over the raw documents. Only the grouped rows come back, never the documents.
+     */
+    @Override
+    public TopicAggregate aggregateTopic(String topic) {
+        if (rollup != null && rollup.isReady(collectionName)) {
+            return rollup.read(collectionName, topic);
+        }
+
+        Document sentimentOrZero = new Document("$ifNull", List.of("$sentiment", 0.0));
+
+        List<Document> pipeline = List.of(
+                new Document("$match", topicFilter(topic)),
+                new Document("$facet", new Document()
+                        .append("totals", List.of(
+                                new Document("$group", new Document("_id", null)
+                                        .append("count", new Document("$sum", 1))
+                                        .append("sentiment", new Document("$sum", sentimentOrZero)))))
+                        .append("daily", List.of(
+                                new Document("$match", new Document("timestamp", new Document("$type", "date"))),
+                                new Document("$group", new Document("_id",
+                                        new Document("$dateToString", new Document("format", "%Y-%m-%d")
+                                                .append("date", "$timestamp")
+                                                .append("timezone", "UTC")))
+                                        .append("count", new Document("$sum", 1))
+                                        .append("sentiment", new Document("$sum", sentimentOrZero)))))
+                        .append("damage", List.of(
+                                new Document("$group", new Document("_id", "$damageType")
+                                        .append("count", new Document("$sum", 1))))))
+        );
+
+        TopicAggregate aggregate = new TopicAggregate();
+        Document result = collection.aggregate(pipeline).first();
+        if (result == null) return aggregate;
+
+        for (Document row : result.getList("totals", Document.class)) {
+            aggregate.addTotals(row.getInteger("count", 0), toDouble(row.get("sentiment")));
+        }
+        for (Document row : result.getList("daily", Document.class)) {
+            aggregate.addDay(LocalDate.parse(row.getString("_id")), row.getInteger("count", 0), toDouble(row.get("sentiment")));
+        }
+        for (Document row : result.getList("damage", Document.class)) {
+            Object damage = row.get("_id");
+            aggregate.addDamage(DamageCategory.fromText(damage != null ? damage.toString() : null), row.getInteger("count", 0));
+        }
+        return aggregate;
+    }
+
+    /**
+     * Recomputes this collection's rows in {@code topic_daily_stats} from scratch.
+     */
+    public int rebuildDailyRollup() {
+        if (rollup == null) {
+            System.err.println("No rollup configured for " + collectionName + ".");
+            return 0;
+        }
+        return rollup.rebuild(collectionName, collection, new Document(DUPLICATE_OF_FIELD, notTagged()), batchSize);
+    }
+
+    private static double toDouble(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : 0.0;
+    }
+
+    /** Topic match; legacy copies tagged by the hash backfill are never read or counted. */
+    private Document topicFilter(String topic) {
+        if (topicKeyReady) {
+            // Exact match on the normalized key can use the compound indexes
+            return new Document(TOPIC_KEY_FIELD, TopicKey.of(topic)).append(DUPLICATE_OF_FIELD, notTagged());
+        }
+        // Legacy fallback until backfillTopicKeys() has run: regex, case-insensitive, cannot use an index
         Pattern regex = Pattern.compile("^" + Pattern.quote(topic.trim()) + "$", Pattern.CASE_INSENSITIVE);
-        FindIterable<Document> docs = collection.find(new Document("topic", regex));
+        return new Document("topic", regex).append(DUPLICATE_OF_FIELD, notTagged());
+    }
 
-        for (Document doc : docs) {
-            try {
-                MediaAnalysis analysis = mapDocumentToAnalysis(doc);
-                if (analysis != null) {
-                    items.add(analysis);
-                }
-            } catch (Exception e) {
-                System.err.println("Skipping doc: " + e.getMessage());
+    private static Document notTagged() {
+        return new Document("$exists", false);
+    }
+
+    /**
+     * One-time migration: writes topicKey on documents stored before it existed,
+     * after which topic queries switch from the regex to an exact indexed match.
+     */
+    public int backfillTopicKeys() {
+        List<UpdateOneModel<Document>> updates = new ArrayList<>();
+        int stamped = 0;
+
+        for (Document doc : collection.find(missingTopicKeyFilter())
+                .projection(new Document("topic", 1))
+                .batchSize(batchSize)) {
+            updates.add(new UpdateOneModel<>(new Document("_id", doc.get("_id")),
+                    new Document("$set", new Document(TOPIC_KEY_FIELD, TopicKey.of(doc.getString("topic"))))));
+            stamped++;
+            if (updates.size() >= batchSize) {
+                collection.bulkWrite(updates, new BulkWriteOptions().ordered(false));
+                updates.clear();
             }
         }
-        return items;
+        if (!updates.isEmpty()) {
+            collection.bulkWrite(updates, new BulkWriteOptions().ordered(false));
+        }
+
+        System.out.println("Backfill (" + collectionName + "): wrote topicKey on " + stamped + " documents.");
+        topicKeyReady = ensureTopicKeyIndexes() && isMigrated("topicKey", missingTopicKeyFilter());
+        return stamped;
     }
 
-    private boolean findByContent(String content) {
-        return collection.find(new Document("content", content)).first() != null;
+    private boolean existsByHashOrContent(String hash, String content) {
+        Document filter = new Document("$or", List.of(
+                new Document(HASH_FIELD, hash),
+                new Document("content", content)));
+        return collection.find(filter).projection(new Document("_id", 1)).first() != null;
     }
 
     private MediaAnalysis mapDocumentToAnalysis(Document doc) {
@@ -111,10 +660,20 @@ public class MongoMediaRepository implements MediaRepository {
 
             String damageStr = doc.getString("damageType");
 
+            AnalysisStatus status = AnalysisStatus.PENDING;
+            String statusStr = doc.getString(STATUS_FIELD);
+            if (statusStr != null) {
+                try {
+                    status = AnalysisStatus.valueOf(statusStr);
+                } catch (IllegalArgumentException ignored) { }
+            }
+
             return new MediaAnalysis(
                     media,
                     SentimentScore.of(sentimentVal),
-                    DamageCategory.fromText(damageStr)
+                    DamageCategory.fromText(damageStr),
+                    status,
+                    doc.getString(VERSION_FIELD)
             );
         } catch (Exception e) {
             System.err.println("Mapping Error for ID " + doc.get("_id") + ": " + e.getMessage());
@@ -0,0 +1,78 @@
+package project.app.humanelogistics.db;
+
+import project.app.humanelogistics.model.DamageCategory;
+import project.app.humanelogistics.model.MediaAnalysis;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Counts and sums for one topic in one repository: everything the dashboard needs,
+ * without the documents themselves.
+ */
+public class TopicAggregate {
+    private static final ZoneId UTC = ZoneId.of("UTC");
+
+    private int count;
+    private double sentimentSum;
+    private final Map<LocalDate, Integer> dailyCounts = new TreeMap<>();
+    private final Map<LocalDate, Double> dailySentimentSums = new TreeMap<>();
+    private final Map<DamageCategory, Integer> damageCounts = new EnumMap<>(DamageCategory.class);
+
+    public static TopicAggregate fromAnalyses(List<MediaAnalysis> items) {
+        return fromAnalyses(items.stream());
+    }
+
+    public static TopicAggregate fromAnalyses(Stream<MediaAnalysis> items) {
+        TopicAggregate aggregate = new TopicAggregate();
+        items.forEachOrdered(item -> {
+            double sentiment = item.getSentiment().getValue();
+            aggregate.addTotals(1, sentiment);
+
+            Date timestamp = item.getMedia().getTimestamp();
+            if (timestamp != null) {
+                // Bucket by UTC day to match MongoDB storage
+                aggregate.addDay(timestamp.toInstant().atZone(UTC).toLocalDate(), 1, sentiment);
+            }
+            aggregate.addDamage(item.getDamageCategory(), 1);
+        });
+        return aggregate;
+    }
+
+    public void addTotals(int docs, double sentiment) {
+        count += docs;
+        sentimentSum += sentiment;
+    }
+
+    public void addDay(LocalDate day, int docs, double sentiment) {
+        dailyCounts.merge(day, docs, Integer::sum);
+        dailySentimentSums.merge(day, sentiment, Double::sum);
+    }
+
+    public void addDamage(DamageCategory category, int docs) {
+        if (category == null) category = DamageCategory.UNKNOWN;
+        damageCounts.merge(category, docs, Integer::sum);
+    }
+
+    public int getCount() { return count; }
+    public double getSentimentSum() { return sentimentSum; }
+
+    public double getAverageSentiment() {
+        return count == 0 ? 0.0 : sentimentSum / count;
+    }
+
+    /** Average sentiment per UTC day, in date order. */
+    public Map<LocalDate, Double> getDailyAverages() {
+        Map<LocalDate, Double> averages = new TreeMap<>();
+        for (Map.Entry<LocalDate, Integer> entry : dailyCounts.entrySet()) {
+            averages.put(entry.getKey(), dailySentimentSums.get(entry.getKey()) / entry.getValue());
+        }
+        return averages;
+    }
+
+    public Map<DamageCategory, Integer> getDamageCounts() {
+        return Collections.unmodifiableMap(damageCounts);
+    }
+}
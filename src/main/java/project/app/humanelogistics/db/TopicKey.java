@@ -0,0 +1,17 @@
+package project.app.humanelogistics.db;
+
+import java.util.Locale;
+
+/**
+ * Normalized form of a topic used for exact, index-friendly matching:
+ * trimmed, inner whitespace collapsed, case-folded.
+ */
+public final class TopicKey {
+
+    private TopicKey() {}
+
+    public static String of(String topic) {
+        if (topic == null) return "";
+        return topic.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,11 @@
+package project.app.humanelogistics.db;
+
+/**
+ * Per-item result of a batch write against a {@link MediaRepository}.
+ */
+public enum WriteOutcome {
+    INSERTED,
+    UPDATED,
+    DUPLICATE,
+    FAILED
+}
@@ -3,7 +3,12 @@ package project.app.humanelogistics.factory;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import project.app.humanelogistics.config.AppConfig;
+import project.app.humanelogistics.db.ArticleTextRepository;
+import project.app.humanelogistics.db.CheckpointRepository;
+import project.app.humanelogistics.db.DailyStatsRollup;
 import project.app.humanelogistics.db.MediaRepository;
+import project.app.humanelogistics.db.MongoArticleTextRepository;
+import project.app.humanelogistics.db.MongoCheckpointRepository;
 import project.app.humanelogistics.db.MongoMediaRepository;
 
 import java.util.Map;
@@ -12,24 +17,49 @@ import java.util.concurrent.ConcurrentHashMap;
 public class RepositoryFactory implements AutoCloseable {
     private final String connectionString;
     private final String databaseName;
+    private final int batchSize;
+    private final int articleTextMaxChars;
+    private final int articleTextMaxAgeDays;
     private final MongoClient mongoClient;
+    private final DailyStatsRollup dailyStatsRollup;
     private final Map<String, MediaRepository> repositoryCache;
+    private CheckpointRepository checkpointRepository;
+    private ArticleTextRepository articleTextRepository;
 
     public RepositoryFactory(AppConfig config) {
         this.connectionString = config.getDbConnection();
         this.databaseName = config.getDbName();
+        this.batchSize = config.getDbBatchSize();
+        this.articleTextMaxChars = config.getArticleTextMaxChars();
+        this.articleTextMaxAgeDays = config.getArticleTextMaxAgeDays();
         this.mongoClient = MongoClients.create(connectionString);
+        this.dailyStatsRollup = new DailyStatsRollup(mongoClient, databaseName);
         this.repositoryCache = new ConcurrentHashMap<>();
     }
 
     public MediaRepository getNewsRepository() {
         return repositoryCache.computeIfAbsent("news",
-                k -> new MongoMediaRepository(mongoClient, databaseName, "news"));
+                k -> new MongoMediaRepository(mongoClient, databaseName, "news", batchSize, dailyStatsRollup));
     }
 
     public MediaRepository getSocialPostRepository() {
         return repositoryCache.computeIfAbsent("posts",
-                k -> new MongoMediaRepository(mongoClient, databaseName, "posts"));
+                k -> new MongoMediaRepository(mongoClient, databaseName, "posts", batchSize, dailyStatsRollup));
+    }
+
+    public synchronized CheckpointRepository getCheckpointRepository() {
+        if (checkpointRepository == null) {
+            checkpointRepository = new MongoCheckpointRepository(mongoClient, databaseName);
+        }
+        return checkpointRepository;
+    }
+
+    public synchronized ArticleTextRepository getArticleTextRepository() {
+        if (articleTextRepository == null) {
+            articleTextRepository = new MongoArticleTextRepository(
+                    mongoClient, databaseName, articleTextMaxChars, articleTextMaxAgeDays);
+        }
+        return articleTextRepository;
     }
 
     @Override
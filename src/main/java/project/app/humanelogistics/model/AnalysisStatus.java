@@ -0,0 +1,14 @@
+package project.app.humanelogistics.model;
+
+/**
+ * Where an item stands in analysis. Stored next to the results, so "not analysed yet"
+ * is no longer guessed from a neutral score or an UNKNOWN category.
+ */
+public enum AnalysisStatus {
+    /** Stored without analysis (collect-only runs). */
+    PENDING,
+    /** Results are real answers, produced by the analysis version stored with them. */
+    ANALYZED,
+    /** The last attempt got no answer; the previous results, if any, are kept. */
+    FAILED
+}
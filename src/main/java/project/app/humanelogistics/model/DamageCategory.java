@@ -1,17 +1,16 @@
 package project.app.humanelogistics.model;
 
-import java.util.Arrays;
 import java.util.List;
 
 
 public enum DamageCategory {
-    AFFECTED_PEOPLE("Affected People", Arrays.asList("death", "injury", "missing", "evacu")),
-    ECONOMIC_IMPACT("Economic Production Disruption", Arrays.asList("farm", "factory", "economy", "job")),
-    HOUSING_DAMAGE("Houses or Buildings Damaged", Arrays.asList("home", "roof", "collapse", "house")),
-    LOSS_OF_BELONGINGS("Loss of Personal Belongings", Arrays.asList("vehicle", "car", "clothes", "belonging")),
-    INFRASTRUCTURE_DAMAGE("Damaged Infrastructure", Arrays.asList("bridge", "road", "power", "grid")),
-    OTHER("Other", Arrays.asList("damage", "broken")),
-    UNKNOWN("Unknown", Arrays.asList());
+    AFFECTED_PEOPLE("Affected People", List.of("death", "injury", "missing", "evacu")),
+    ECONOMIC_IMPACT("Economic Production Disruption", List.of("farm", "factory", "economy", "job")),
+    HOUSING_DAMAGE("Houses or Buildings Damaged", List.of("home", "roof", "collapse", "house")),
+    LOSS_OF_BELONGINGS("Loss of Personal Belongings", List.of("vehicle", "car", "clothes", "belonging")),
+    INFRASTRUCTURE_DAMAGE("Damaged Infrastructure", List.of("bridge", "road", "power", "grid")),
+    OTHER("Other", List.of("damage", "broken")),
+    UNKNOWN("Unknown", List.of());
 
     private final String displayName;
     private final List<String> keywords;
@@ -23,24 +22,26 @@ public enum DamageCategory {
 
     public String getDisplayName() { return displayName; }
 
+    /** Lower-case keyword stems; matched in one pass by KeywordTagger rather than per category. */
+    public List<String> getKeywords() { return keywords; }
 
     public static DamageCategory fromText(String text) {
         if (text == null || text.trim().isEmpty()) return UNKNOWN;
+        DamageCategory parsed = parse(text);
+        return parsed != null ? parsed : OTHER;
+    }
+
+    /** Like {@link #fromText}, but null when the text names no category. */
+    public static DamageCategory parse(String text) {
+        if (text == null || text.trim().isEmpty()) return null;
         String normalized = text.trim().toUpperCase().replace(" ", "_");
         try {
             return valueOf(normalized);
         } catch (IllegalArgumentException ignored) { }
 
-
         for (DamageCategory cat : values()) {
             if (normalized.contains(cat.name())) return cat;
         }
-
-        return OTHER;
-    }
-
-    private boolean matchesKeywords(String text) {
-        String lower = text.toLowerCase();
-        return keywords.stream().anyMatch(lower::contains);
+        return null;
     }
 }
\ No newline at end of file
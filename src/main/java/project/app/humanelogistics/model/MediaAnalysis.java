@@ -6,11 +6,21 @@ public class MediaAnalysis {
     private final Media media;
     private final SentimentScore sentiment;
     private final DamageCategory damageCategory;
+    private final AnalysisStatus status;
+    private final String analysisVersion;
 
     public MediaAnalysis(Media media, SentimentScore sentiment, DamageCategory damageCategory) {
+        this(media, sentiment, damageCategory, AnalysisStatus.PENDING, null);
+    }
+
+    /** {@code analysisVersion} identifies the analyzers/prompts that produced an ANALYZED result; may be null. */
+    public MediaAnalysis(Media media, SentimentScore sentiment, DamageCategory damageCategory,
+                         AnalysisStatus status, String analysisVersion) {
         this.media = Objects.requireNonNull(media, "Media cannot be null");
         this.sentiment = sentiment != null ? sentiment : SentimentScore.neutral();
         this.damageCategory = damageCategory != null ? damageCategory : DamageCategory.UNKNOWN;
+        this.status = status != null ? status : AnalysisStatus.PENDING;
+        this.analysisVersion = analysisVersion;
     }
 
     public static MediaAnalysis unprocessed(Media media) {
@@ -20,13 +30,25 @@ public class MediaAnalysis {
     public Media getMedia() { return media; }
     public SentimentScore getSentiment() { return sentiment; }
     public DamageCategory getDamageCategory() { return damageCategory; }
+    public AnalysisStatus getStatus() { return status; }
+    public String getAnalysisVersion() { return analysisVersion; }
 
 
     public MediaAnalysis withSentiment(SentimentScore newSentiment) {
-        return new MediaAnalysis(this.media, newSentiment, this.damageCategory);
+        return new MediaAnalysis(this.media, newSentiment, this.damageCategory, this.status, this.analysisVersion);
     }
 
     public MediaAnalysis withDamageCategory(DamageCategory newCategory) {
-        return new MediaAnalysis(this.media, this.sentiment, newCategory);
+        return new MediaAnalysis(this.media, this.sentiment, newCategory, this.status, this.analysisVersion);
+    }
+
+    /** Marks the current results as a successful analysis by {@code version}. */
+    public MediaAnalysis analyzed(String version) {
+        return new MediaAnalysis(this.media, this.sentiment, this.damageCategory, AnalysisStatus.ANALYZED, version);
+    }
+
+    /** Marks an attempt that got no answer; results and version are left as they were. */
+    public MediaAnalysis failed() {
+        return new MediaAnalysis(this.media, this.sentiment, this.damageCategory, AnalysisStatus.FAILED, this.analysisVersion);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,157 @@
+package project.app.humanelogistics.preprocessing;
+
+import project.app.humanelogistics.db.ArticleTextRepository;
+import project.app.humanelogistics.db.ContentHash;
+import project.app.humanelogistics.model.DamageCategory;
+import project.app.humanelogistics.model.MediaAnalysis;
+import project.app.humanelogistics.preprocessing.analysis.ContentClassifier;
+import project.app.humanelogistics.preprocessing.analysis.KeywordDamageClassifier;
+import project.app.humanelogistics.preprocessing.analysis.NaiveBayesDamageClassifier;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Trains a {@link NaiveBayesDamageClassifier} on damage categories already stored by the
+ * model-backed analysis, UNKNOWN (no damage) included. Labels written while a local tier
+ * could answer (this model or the keyword tier, per the stored analysis version) are
+ * skipped, so the model never learns from its own output. A fixed share of items is held
+ * out to measure accuracy against the stored labels; it is chosen by the item's
+ * {@link ContentHash} (title and URL), not by the article body, which may be refetched, so
+ * the split is the same on every run. The returned model is then retrained on everything.
+ */
+public class DamageModelTrainer {
+    /** Analysis version tags marking results that may come from a local tier instead of the model. */
+    public static final String LOCAL_MODEL_TAG = "nb";
+    public static final String TIERED_TAG_PREFIX = "t";
+
+    private final ArticleTextRepository articleTextRepository;
+    private final int buckets;
+    private final int holdoutPercent;
+
+    /** {@code articleTextRepository} may be null; items then train on their stored content only. */
+    public DamageModelTrainer(ArticleTextRepository articleTextRepository, int buckets, int holdoutPercent) {
+        this.articleTextRepository = articleTextRepository;
+        this.buckets = buckets;
+        this.holdoutPercent = Math.max(1, Math.min(99, holdoutPercent));
+    }
+
+    public TrainingReport train(Stream<MediaAnalysis> labeled) {
+        List<String> trainTexts = new ArrayList<>();
+        List<DamageCategory> trainLabels = new ArrayList<>();
+        List<String> testTexts = new ArrayList<>();
+        List<DamageCategory> testLabels = new ArrayList<>();
+
+        labeled.forEach(item -> {
+            if (isLocalLabel(item.getAnalysisVersion())) return;
+            DamageCategory label = item.getDamageCategory();
+            String text = textFor(item);
+            if (text.isBlank()) return;
+
+            boolean holdout = Math.floorMod(ContentHash.of(item.getMedia()).hashCode(), 100) < holdoutPercent;
+            (holdout ? testTexts : trainTexts).add(text);
+            (holdout ? testLabels : trainLabels).add(label);
+        });
+
+        if (trainTexts.isEmpty() || testTexts.isEmpty()) {
+            throw new IllegalStateException("Not enough labelled items to train and evaluate ("
+                    + (trainTexts.size() + testTexts.size()) + " found)");
+        }
+
+        NaiveBayesDamageClassifier evaluated = NaiveBayesDamageClassifier.train(trainTexts, trainLabels, buckets);
+        TrainingReport report = new TrainingReport(trainTexts.size(), testTexts.size());
+        report.modelAccuracy = evaluate(evaluated, testTexts, testLabels, report.modelPerCategory);
+        report.keywordAccuracy = evaluate(new KeywordDamageClassifier(), testTexts, testLabels, new EnumMap<>(DamageCategory.class));
+        report.majorityAccuracy = majorityAccuracy(trainLabels, testLabels);
+
+        List<String> allTexts = new ArrayList<>(trainTexts);
+        allTexts.addAll(testTexts);
+        List<DamageCategory> allLabels = new ArrayList<>(trainLabels);
+        allLabels.addAll(testLabels);
+        report.model = NaiveBayesDamageClassifier.train(allTexts, allLabels, buckets);
+        return report;
+    }
+
+    /** Versions are dash-separated tags, e.g. {@code s2-d2-c1-tkw-nb}; null for results stored before versions. */
+    static boolean isLocalLabel(String analysisVersion) {
+        if (analysisVersion == null) return false;
+        for (String tag : analysisVersion.split("-")) {
+            if (tag.equals(LOCAL_MODEL_TAG) || tag.startsWith(TIERED_TAG_PREFIX)) return true;
+        }
+        return false;
+    }
+
+    private String textFor(MediaAnalysis item) {
+        if (articleTextRepository != null) {
+            String stored = articleTextRepository.find(item.getMedia());
+            if (stored != null && !stored.isBlank()) return stored;
+        }
+        String content = item.getMedia().getContent();
+        return content != null ? content : "";
+    }
+
+    /** Accuracy over the holdout; fills {@code perCategory} with [correct, total] per true label. */
+    private static double evaluate(ContentClassifier classifier, List<String> texts, List<DamageCategory> labels,
+                                   Map<DamageCategory, int[]> perCategory) {
+        int correct = 0;
+        for (int i = 0; i < texts.size(); i++) {
+            DamageCategory expected = labels.get(i);
+            boolean hit = classifier.classify(texts.get(i)) == expected;
+            int[] counts = perCategory.computeIfAbsent(expected, k -> new int[2]);
+            if (hit) {
+                correct++;
+                counts[0]++;
+            }
+            counts[1]++;
+        }
+        return (double) correct / texts.size();
+    }
+
+    /** Baseline: always answering the most common training label. */
+    private static double majorityAccuracy(List<DamageCategory> trainLabels, List<DamageCategory> testLabels) {
+        Map<DamageCategory, Integer> frequency = new EnumMap<>(DamageCategory.class);
+        for (DamageCategory label : trainLabels) frequency.merge(label, 1, Integer::sum);
+        DamageCategory majority = frequency.entrySet().stream()
+                .max(Map.Entry.comparingByValue()).map(Map.Entry::getKey).orElse(DamageCategory.OTHER);
+        long hits = testLabels.stream().filter(label -> label == majority).count();
+        return (double) hits / testLabels.size();
+    }
+
+    public static final class TrainingReport {
+        private final int trainingItems;
+        private final int holdoutItems;
+        private final Map<DamageCategory, int[]> modelPerCategory = new EnumMap<>(DamageCategory.class);
+        private double modelAccuracy;
+        private double keywordAccuracy;
+        private double majorityAccuracy;
+        private NaiveBayesDamageClassifier model;
+
+        private TrainingReport(int trainingItems, int holdoutItems) {
+            this.trainingItems = trainingItems;
+            this.holdoutItems = holdoutItems;
+        }
+
+        /** Trained on every labelled item, holdout included. */
+        public NaiveBayesDamageClassifier getModel() { return model; }
+        public double getModelAccuracy() { return modelAccuracy; }
+        public double getKeywordAccuracy() { return keywordAccuracy; }
+        public double getMajorityAccuracy() { return majorityAccuracy; }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("Items: %d training, %d holdout%n", trainingItems, holdoutItems));
+            sb.append(String.format("Holdout accuracy: %.1f%% (keywords %.1f%%, majority class %.1f%%)%n",
+                    modelAccuracy * 100, keywordAccuracy * 100, majorityAccuracy * 100));
+            for (Map.Entry<DamageCategory, int[]> entry : modelPerCategory.entrySet()) {
+                int[] counts = entry.getValue();
+                sb.append(String.format("  %-22s %4d / %-4d (%.1f%%)%n", entry.getKey().name(),
+                        counts[0], counts[1], 100.0 * counts[0] / counts[1]));
+            }
+            return sb.toString();
+        }
+    }
+}
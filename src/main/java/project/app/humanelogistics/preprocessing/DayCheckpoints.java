@@ -0,0 +1,125 @@
+package project.app.humanelogistics.preprocessing;
+
+import project.app.humanelogistics.db.CheckpointRepository;
+import project.app.humanelogistics.db.IngestionState;
+import project.app.humanelogistics.preprocessing.collector.CollectedPage;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checkpoint bookkeeping for one collector over one topic and date range.
+ * A day becomes PERSISTED once every item on its page has been written, and ANALYZED only
+ * when every one of those items was also analysed; a day with unanalysed items stays
+ * PERSISTED, so a resumed run that analyses redoes it. Any unsaved item or a failed page
+ * marks the day FAILED.
+ */
+class DayCheckpoints {
+    private final CheckpointRepository repository;
+    private final String collectorName;
+    private final String topic;
+    private final IngestionState target;
+    private final boolean resume;
+    private final Map<LocalDate, IngestionState> known;
+    private final Map<LocalDate, DayProgress> progress = new ConcurrentHashMap<>();
+
+    DayCheckpoints(CheckpointRepository repository, String collectorName, String topic,
+                   LocalDate from, LocalDate to, boolean analyzeImmediately, boolean resume) {
+        this.repository = repository;
+        this.collectorName = collectorName;
+        this.topic = topic;
+        this.target = analyzeImmediately ? IngestionState.ANALYZED : IngestionState.PERSISTED;
+        this.resume = resume;
+        this.known = new ConcurrentHashMap<>(loadStates(from, to));
+    }
+
+    private Map<LocalDate, IngestionState> loadStates(LocalDate from, LocalDate to) {
+        if (repository == null || from == null || to == null) return new HashMap<>();
+        try {
+            return repository.findStates(collectorName, topic, from, to);
+        } catch (Exception e) {
+            System.err.println("Checkpoint read failed: " + e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
+    /** On resume, days already at the target state are skipped; everything else is (re)scraped. */
+    boolean shouldScrape(LocalDate day) {
+        if (!resume) return true;
+        IngestionState state = known.get(day);
+        return state == null || !state.isAtLeast(target);
+    }
+
+    long completedDays() {
+        return known.values().stream().filter(state -> state.isAtLeast(target)).count();
+    }
+
+    /** Must be called before any of the page's items can reach {@link #itemFinished}. */
+    void pageReceived(CollectedPage page) {
+        LocalDate day = page.getDate();
+        if (day == null) return;
+
+        if (page.isFailed()) {
+            mark(day, IngestionState.FAILED, page.getError());
+            return;
+        }
+        mark(day, IngestionState.SCRAPED, page.getItems().size() + " items");
+
+        if (page.getItems().isEmpty()) {
+            mark(day, target, "0 items");
+        } else {
+            progress.put(day, new DayProgress(page.getItems().size()));
+        }
+    }
+
+    /** {@code analyzed} is whether the item's stored analysis is complete; ignored for search-only runs. */
+    void itemFinished(LocalDate day, boolean saved, boolean analyzed) {
+        if (day == null) return;
+        DayProgress dayProgress = progress.get(day);
+        if (dayProgress == null) return;
+
+        if (!saved) dayProgress.failed.set(true);
+        if (!analyzed) dayProgress.unanalyzed.incrementAndGet();
+        if (dayProgress.remaining.decrementAndGet() == 0) {
+            progress.remove(day);
+            int unanalyzed = dayProgress.unanalyzed.get();
+            if (dayProgress.failed.get()) {
+                mark(day, IngestionState.FAILED, "Some items could not be saved");
+            } else if (target == IngestionState.ANALYZED && unanalyzed > 0) {
+                mark(day, IngestionState.PERSISTED, dayProgress.total + " items, " + unanalyzed + " not analysed");
+            } else {
+                mark(day, target, dayProgress.total + " items");
+            }
+        }
+    }
+
+    private void mark(LocalDate day, IngestionState state, String detail) {
+        if (repository == null) return;
+
+        // Never step a completed day back to an earlier state (e.g. a search-only rerun
+        // over analysed days); a failure only overrides incomplete work
+        IngestionState current = known.get(day);
+        if (current != null && current.isAtLeast(IngestionState.PERSISTED) && !state.isAtLeast(current)) {
+            return;
+        }
+
+        known.put(day, state);
+        repository.mark(collectorName, topic, day, state, detail);
+    }
+
+    private static final class DayProgress {
+        private final int total;
+        private final AtomicInteger remaining;
+        private final AtomicBoolean failed = new AtomicBoolean(false);
+        private final AtomicInteger unanalyzed = new AtomicInteger();
+
+        private DayProgress(int total) {
+            this.total = total;
+            this.remaining = new AtomicInteger(total);
+        }
+    }
+}
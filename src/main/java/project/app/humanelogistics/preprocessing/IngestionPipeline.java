@@ -1,21 +1,57 @@
 package project.app.humanelogistics.preprocessing;
 
+import project.app.humanelogistics.config.AIRequestException;
+import project.app.humanelogistics.config.AppConfig;
+import project.app.humanelogistics.db.ArticleTextRepository;
+import project.app.humanelogistics.db.BulkWriteReport;
+import project.app.humanelogistics.db.CheckpointRepository;
+import project.app.humanelogistics.db.MediaField;
 import project.app.humanelogistics.db.MediaRepository;
+import project.app.humanelogistics.db.WriteOutcome;
 import project.app.humanelogistics.model.*;
+import project.app.humanelogistics.preprocessing.analysis.AnalysisResult;
+import project.app.humanelogistics.preprocessing.analysis.CombinedAnalyzer;
 import project.app.humanelogistics.preprocessing.analysis.ContentClassifier;
 import project.app.humanelogistics.preprocessing.analysis.SentimentAnalyzer;
 import project.app.humanelogistics.preprocessing.analysis.WebContentFetcher;
+import project.app.humanelogistics.preprocessing.collector.CollectedPage;
+import project.app.humanelogistics.preprocessing.collector.CollectorStream;
 import project.app.humanelogistics.preprocessing.collector.DataCollector;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
 
 public class IngestionPipeline {
 
+    // Fields re-analysis needs: text and URL to fetch/match, current results to keep on failure
+    private static final Set<MediaField> ANALYSIS_FIELDS = EnumSet.of(
+            MediaField.CONTENT, MediaField.URL, MediaField.TIMESTAMP,
+            MediaField.SENTIMENT, MediaField.DAMAGE_TYPE);
+    // Small enough that slow analysis never leaves the server cursor idle past its 10-minute timeout
+    private static final int CURSOR_BATCH_SIZE = 50;
+    private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("M/d/yyyy");
+
     private final Map<String, MediaRepository> repoMap = new LinkedHashMap<>();
     private final SentimentAnalyzer sentimentAnalyzer;
     private final ContentClassifier damageClassifier;
+    private CombinedAnalyzer combinedAnalyzer;
     private final WebContentFetcher contentFetcher;
     private final List<DataCollector> collectors = new ArrayList<>();
+    private final List<TopicWriteListener> writeListeners = new CopyOnWriteArrayList<>();
+    private IngestionStageConfig stageConfig = IngestionStageConfig.fromAppConfig(AppConfig.getInstance());
+    private int batchTokenBudget = AppConfig.getInstance().getAnalysisBatchTokens();
+    private int batchMaxItems = AppConfig.getInstance().getAnalysisBatchMaxItems();
+    private String analysisVersion = "1";
+    private int maxAnalysisFailures = AppConfig.getInstance().getAnalysisMaxFailures();
+    private boolean reanalyzeOutdated = AppConfig.getInstance().isReanalyzeOutdatedEnabled();
+    private CheckpointRepository checkpointRepository;
+    private ArticleTextRepository articleTextRepository;
 
     public IngestionPipeline(SentimentAnalyzer sentimentAnalyzer, ContentClassifier damageClassifier) {
         this.sentimentAnalyzer = sentimentAnalyzer;
@@ -27,6 +63,48 @@ public class IngestionPipeline {
         this.repoMap.put(label, repo);
     }
 
+    public void addWriteListener(TopicWriteListener listener) {
+        this.writeListeners.add(listener);
+    }
+
+    public void setStageConfig(IngestionStageConfig stageConfig) {
+        this.stageConfig = stageConfig;
+    }
+
+    public void setCheckpointRepository(CheckpointRepository checkpointRepository) {
+        this.checkpointRepository = checkpointRepository;
+    }
+
+    /** Limits for one multi-document prompt in batched re-analysis. */
+    public void setBatchLimits(int tokenBudget, int maxItems) {
+        this.batchTokenBudget = tokenBudget;
+        this.batchMaxItems = maxItems;
+    }
+
+    /** When set, each item is analysed with one combined call instead of separate sentiment and category calls. */
+    public void setCombinedAnalyzer(CombinedAnalyzer combinedAnalyzer) {
+        this.combinedAnalyzer = combinedAnalyzer;
+    }
+
+    /** Stored with every analysed item; change it when analyzers or prompts change. */
+    public void setAnalysisVersion(String analysisVersion) {
+        this.analysisVersion = analysisVersion;
+    }
+
+    /**
+     * Which stored items {@link #processExistingData} picks up besides pending ones: failed
+     * items until they have failed {@code maxFailures} times, and, with
+     * {@code reanalyzeOutdated}, items analysed under another analysis version.
+     */
+    public void setReanalysisPolicy(int maxFailures, boolean reanalyzeOutdated) {
+        this.maxAnalysisFailures = maxFailures;
+        this.reanalyzeOutdated = reanalyzeOutdated;
+    }
+
+    public void setArticleTextRepository(ArticleTextRepository articleTextRepository) {
+        this.articleTextRepository = articleTextRepository;
+    }
+
     public void registerCollectors(DataCollector... newCollectors) {
         Collections.addAll(this.collectors, newCollectors);
     }
@@ -36,7 +114,17 @@ public class IngestionPipeline {
     }
 
     public void processNewData(String topic, String startDate, String endDate, boolean analyzeImmediately) {
-        System.out.println("Starting Cycle for: " + topic + " [" + startDate + " to " + endDate + "]");
+        processNewData(topic, startDate, endDate, analyzeImmediately, false);
+    }
+
+    /**
+     * With {@code resume}, days whose checkpoint already reached the requested state are
+     * skipped and only missing or failed days are scraped again.
+     */
+    public void processNewData(String topic, String startDate, String endDate,
+                               boolean analyzeImmediately, boolean resume) {
+        System.out.println("Starting Cycle for: " + topic + " [" + startDate + " to " + endDate + "]"
+                + (resume ? " (resuming)" : ""));
         System.out.println("Repositories registered: " + repoMap.keySet());
 
         if (repoMap.isEmpty()) {
@@ -45,123 +133,456 @@ public class IngestionPipeline {
         }
 
         for (DataCollector collector : collectors) {
-            System.out.println("Invoking Collector: " + collector.getClass().getSimpleName());
-            List<Media> freshData = collector.collect(topic, startDate, endDate, 1);
-            System.out.println("  > Collector (" + collector.getClass().getSimpleName() + ") found " + freshData.size() + " raw items.");
+            String collectorName = collector.getClass().getSimpleName();
+            System.out.println("Invoking Collector: " + collectorName);
+
+            IngestionStats stats = new IngestionStats();
+            List<MediaAnalysis> pending = new ArrayList<>();
+            DayCheckpoints checkpoints = checkpointsFor(collectorName, topic, startDate, endDate, analyzeImmediately, resume);
+            LocalDate currentDay = null;
+
+            // Pages arrive as each day is parsed; persist at every page boundary so the
+            // first articles are saved long before the last day is scraped
+            try (CollectorStream pages = collector.stream(topic, startDate, endDate, 1, checkpoints::shouldScrape)) {
+                while (pages.hasNext()) {
+                    CollectedPage page = pages.next();
+                    currentDay = page.getDate();
+                    checkpoints.pageReceived(page);
+
+                    // Start every article fetch on the page at once; analysis then waits on each in order
+                    List<CompletableFuture<String>> texts = new ArrayList<>();
+                    if (analyzeImmediately) {
+                        for (Media item : page.getItems()) texts.add(fetchTextForAsync(item));
+                    }
+
+                    for (int i = 0; i < page.getItems().size(); i++) {
+                        Media item = page.getItems().get(i);
+                        stats.recordFound();
+                        MediaAnalysis analysis = MediaAnalysis.unprocessed(item);
+
+                        if (analyzeImmediately) {
+                            analysis = analyzeText(analysis, texts.get(i).join());
+                        }
+
+                        pending.add(analysis);
+                        if (pending.size() >= stageConfig.getPersistBatchSize()) {
+                            persistPage(pending, stats, checkpoints, currentDay);
+                        }
+                    }
+                    persistPage(pending, stats, checkpoints, currentDay);
+                }
+            } catch (Exception e) {
+                System.err.println("  ! Collector " + collectorName + " failed: " + e.getMessage());
+            }
+            // Whatever was analysed before a failure is still worth keeping; the day itself
+            // stays unfinished (SCRAPED) and is picked up again on resume
+            persistAll(pending, Collections.nCopies(pending.size(), stats));
 
-            if (freshData.isEmpty()) {
+            System.out.println("  > Collector (" + collectorName + ") found " + stats.getFound() + " raw items.");
+            if (stats.getFound() == 0) {
                 System.out.println("    (No data found by collector for this date range)");
                 continue;
             }
+            System.out.println("  > Batch Done. Saved: " + stats.getSaved() + " | Duplicates: " + stats.getDuplicates());
+        }
+    }
 
-            int successCount = 0;
-            int duplicateCount = 0;
+    /**
+     * Same cycle as {@link #processNewData}, but collect/fetch/analyze/persist run as
+     * concurrent stages so network waits overlap instead of adding up.
+     */
+    public void processNewDataStaged(String topic, String startDate, String endDate, boolean analyzeImmediately) {
+        processNewDataStaged(topic, startDate, endDate, analyzeImmediately, false);
+    }
 
-            for(Media item : freshData) {
-                MediaAnalysis analysis = MediaAnalysis.unprocessed(item);
+    public void processNewDataStaged(String topic, String startDate, String endDate,
+                                     boolean analyzeImmediately, boolean resume) {
+        System.out.println("Starting Staged Cycle for: " + topic + " [" + startDate + " to " + endDate + "]"
+                + (resume ? " (resuming)" : ""));
+        System.out.println("Repositories registered: " + repoMap.keySet());
+        System.out.println("Workers -> fetch: " + stageConfig.getFetchWorkers()
+                + " | analyze: " + stageConfig.getAnalyzeWorkers()
+                + " | persist: " + stageConfig.getPersistWorkers()
+                + " | queue: " + stageConfig.getQueueCapacity());
 
-                if (analyzeImmediately) {
-                    analysis = performAnalysis(analysis);
-                }
+        if (repoMap.isEmpty()) {
+            System.err.println("CRITICAL ERROR: No repositories registered. Data cannot be saved.");
+            return;
+        }
 
-                MediaRepository targetRepo = null;
-                String targetRepoName = "";
+        Map<String, DayCheckpoints> checkpoints = new HashMap<>();
+        for (DataCollector collector : collectors) {
+            String name = collector.getClass().getSimpleName();
+            checkpoints.computeIfAbsent(name,
+                    k -> checkpointsFor(k, topic, startDate, endDate, analyzeImmediately, resume));
+        }
 
-                if (item instanceof News) {
-                    targetRepo = repoMap.get("News");
-                    targetRepoName = "News";
-                } else if (item instanceof SocialPost) {
-                    targetRepo = repoMap.get("Social Posts");
-                    targetRepoName = "Social Posts";
-                }
+        Map<String, IngestionStats> results = new StagedIngestionEngine(this, stageConfig)
+                .run(new ArrayList<>(collectors), topic, startDate, endDate, analyzeImmediately, checkpoints);
 
-                if (targetRepo == null && !repoMap.isEmpty()) {
-                    targetRepo = repoMap.values().iterator().next();
-                    targetRepoName = "Default";
-                }
+        for (Map.Entry<String, IngestionStats> entry : results.entrySet()) {
+            System.out.println("  > Batch Done (" + entry.getKey() + "). " + entry.getValue());
+        }
+    }
 
-                if (targetRepo != null) {
-                    try {
-                        // FIX: Check boolean return value
-                        boolean wasSaved = targetRepo.save(analysis);
-
-                        if (wasSaved) {
-                            System.out.println("   -> [SAVED] to " + targetRepoName + ": " + truncate(item.getContent()));
-                            successCount++;
-                        } else {
-                            System.out.println("   -> [DUPLICATE - SKIPPED]: " + truncate(item.getContent()));
-                            duplicateCount++;
-                        }
+    public void processExistingData(String topic) {
+        processExistingData(topic, false);
+    }
 
-                    } catch (Exception e) {
-                        System.err.println("  ! Error saving to DB: " + e.getMessage());
+    /**
+     * With {@code batched}, items needing analysis are packed into multi-document prompts
+     * (bounded by the batch token budget) and analysed from their stored text, without
+     * fetching. Items the batch answer misses are analysed one by one.
+     */
+    public void processExistingData(String topic, boolean batched) {
+        if (batched && combinedAnalyzer == null) {
+            System.err.println("Batched analysis needs a combined analyzer. Analysing item by item.");
+            batched = false;
+        }
+        System.out.println("Scanning database for un-analyzed items: " + topic + (batched ? " (batched)" : "")
+                + " [version " + analysisVersion + "]");
+        int count = 0;
+
+        for (MediaRepository repo : repoMap.values()) {
+            System.out.println("Streaming items that need analysis from repo...");
+            List<MediaAnalysis> pending = new ArrayList<>();
+            PromptBatch batch = new PromptBatch(batchTokenBudget, batchMaxItems);
+            int scanned = 0;
+
+            // Selected by status and version, so settled items (neutral or not) are never read again
+            try (Stream<MediaAnalysis> items = repo.streamNeedingAnalysis(topic, ANALYSIS_FIELDS, CURSOR_BATCH_SIZE,
+                    reanalyzeOutdated ? analysisVersion : null, maxAnalysisFailures)) {
+                Iterator<MediaAnalysis> iterator = items.iterator();
+                while (iterator.hasNext()) {
+                    MediaAnalysis analysis = iterator.next();
+                    scanned++;
+
+                    if (batched) {
+                        count++;
+                        String text = PromptBatch.clip(storedTextFor(analysis.getMedia()));
+                        if (!batch.fits(text)) {
+                            pending.addAll(analyzeBatch(batch));
+                        }
+                        batch.add(analysis, text);
+                        if (pending.size() >= stageConfig.getPersistBatchSize()) {
+                            flushUpdates(repo, pending);
+                        }
+                    } else {
+                        System.out.println(" -> Analyzing: " + truncate(analysis.getMedia().getContent()) + "...");
+                        pending.add(performAnalysis(analysis));
+                        count++;
+                        if (pending.size() >= stageConfig.getPersistBatchSize()) {
+                            flushUpdates(repo, pending);
+                        }
                     }
                 }
             }
-            System.out.println("  > Batch Done. Saved: " + successCount + " | Duplicates: " + duplicateCount);
+            pending.addAll(analyzeBatch(batch));
+            flushUpdates(repo, pending);
+            System.out.println("Selected " + scanned + " items in repo.");
         }
+        System.out.println("Batch Analysis Complete. Updated " + count + " items.");
     }
 
-    public void processExistingData(String topic) {
-        System.out.println("Scanning database for un-analyzed items: " + topic);
-        int count = 0;
+    private void persistPage(List<MediaAnalysis> pending, IngestionStats stats,
+                             DayCheckpoints checkpoints, LocalDate day) {
+        List<WriteOutcome> outcomes = persistAll(pending, Collections.nCopies(pending.size(), stats));
+        for (int i = 0; i < outcomes.size(); i++) {
+            checkpoints.itemFinished(day, outcomes.get(i) != WriteOutcome.FAILED,
+                    isStoredAnalysed(outcomes.get(i), pending.get(i)));
+        }
+        pending.clear();
+    }
 
-        for (MediaRepository repo : repoMap.values()) {
-            List<MediaAnalysis> items = repo.findByTopic(topic);
-            System.out.println("Found " + items.size() + " items in repo. Checking for missing analysis...");
-
-            for (MediaAnalysis analysis : items) {
-                boolean needsAnalysis = (analysis.getSentiment().getValue() == 0.0) ||
-                        (analysis.getDamageCategory() == DamageCategory.UNKNOWN);
-
-                if (needsAnalysis) {
-                    System.out.println(" -> Analyzing: " + truncate(analysis.getMedia().getContent()) + "...");
-                    MediaAnalysis updated = performAnalysis(analysis);
-                    repo.updateAnalysis(updated);
-                    count++;
-                    try { Thread.sleep(500); } catch (InterruptedException e) {}
+    /** A DUPLICATE kept the stored copy, so its analysis never reached the database. */
+    static boolean isStoredAnalysed(WriteOutcome outcome, MediaAnalysis analysis) {
+        return (outcome == WriteOutcome.INSERTED || outcome == WriteOutcome.UPDATED)
+                && analysis.getStatus() == AnalysisStatus.ANALYZED;
+    }
+
+    DayCheckpoints checkpointsFor(String collectorName, String topic, String startDate, String endDate,
+                                  boolean analyzeImmediately, boolean resume) {
+        LocalDate from = null;
+        LocalDate to = null;
+        try {
+            from = LocalDate.parse(startDate, DATE_FMT);
+            to = LocalDate.parse(endDate, DATE_FMT);
+        } catch (DateTimeParseException e) {
+            System.err.println("Checkpoints disabled: unreadable date range (" + e.getMessage() + ")");
+        }
+
+        DayCheckpoints checkpoints = new DayCheckpoints(checkpointRepository, collectorName, topic,
+                from, to, analyzeImmediately, resume);
+        if (resume && checkpointRepository != null) {
+            System.out.println("  > " + collectorName + ": " + checkpoints.completedDays()
+                    + " day(s) already completed, skipping them.");
+        }
+        return checkpoints;
+    }
+
+    /** Sends one multi-document prompt; IDs are the items' positions in the batch. */
+    private List<MediaAnalysis> analyzeBatch(PromptBatch batch) {
+        List<MediaAnalysis> analysed = new ArrayList<>(batch.size());
+        if (batch.isEmpty()) return analysed;
+
+        Map<String, String> textsById = new LinkedHashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            textsById.put(String.valueOf(i + 1), batch.textAt(i));
+        }
+
+        Map<String, AnalysisResult> results = Map.of();
+        try {
+            results = combinedAnalyzer.analyzeBatch(textsById);
+        } catch (AIRequestException e) {
+            // Falling back to one call per item would multiply the load on a failing model;
+            // the items keep their old values, count a failure and are picked up by the next run
+            System.err.println("Batch Analysis Error: " + e.getMessage() + " (" + batch.size() + " items skipped)");
+            for (int i = 0; i < batch.size(); i++) analysed.add(batch.itemAt(i).failed());
+            batch.clear();
+            return analysed;
+        } catch (Exception e) {
+            System.err.println("Batch Analysis Error: " + e.getMessage());
+        }
+        System.out.println("   [BATCH] " + batch.size() + " items -> " + results.size() + " answered, "
+                + (batch.size() - results.size()) + " analysed singly");
+
+        for (int i = 0; i < batch.size(); i++) {
+            MediaAnalysis item = batch.itemAt(i);
+            AnalysisResult result = results.get(String.valueOf(i + 1));
+            if (result != null) {
+                analysed.add(item.withSentiment(SentimentScore.of(result.getSentiment()))
+                        .withDamageCategory(result.getCategory())
+                        .analyzed(analysisVersion));
+            } else {
+                analysed.add(analyzeText(item, batch.textAt(i)));
+            }
+        }
+        batch.clear();
+        return analysed;
+    }
+
+    private void flushUpdates(MediaRepository repo, List<MediaAnalysis> pending) {
+        if (pending.isEmpty()) return;
+        BulkWriteReport report = repo.updateAll(pending);
+        System.out.println("   [BATCH UPDATE] " + report);
+        if (report.count(WriteOutcome.UPDATED) > 0) {
+            notifyWritten(pending);
+        }
+        pending.clear();
+    }
+
+    /**
+     * Routes each item to its repository and writes them with one saveAll per repository.
+     * {@code statsPerItem.get(i)} receives the outcome of {@code batch.get(i)}, which is
+     * also the i-th entry of the returned list. A duplicate that carries a fresh analysis
+     * updates the stored copy instead of being dropped, and comes back UPDATED.
+     */
+    List<WriteOutcome> persistAll(List<MediaAnalysis> batch, List<IngestionStats> statsPerItem) {
+        List<WriteOutcome> outcomes = new ArrayList<>(Collections.nCopies(batch.size(), WriteOutcome.FAILED));
+        if (batch.isEmpty()) return outcomes;
+
+        List<MediaAnalysis> written = new ArrayList<>();
+        Map<String, List<Integer>> indexesByRepo = new LinkedHashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            String label = resolveRepositoryLabel(batch.get(i).getMedia());
+            if (label != null) {
+                indexesByRepo.computeIfAbsent(label, k -> new ArrayList<>()).add(i);
+            }
+        }
+
+        for (Map.Entry<String, List<Integer>> entry : indexesByRepo.entrySet()) {
+            String targetRepoName = entry.getKey();
+            List<Integer> indexes = entry.getValue();
+
+            List<MediaAnalysis> items = new ArrayList<>(indexes.size());
+            for (int index : indexes) items.add(batch.get(index));
+
+            BulkWriteReport report;
+            try {
+                report = repoMap.get(targetRepoName).saveAll(items);
+            } catch (Exception e) {
+                System.err.println("  ! Error saving to DB: " + e.getMessage());
+                for (int index : indexes) statsPerItem.get(index).recordFailed();
+                continue;
+            }
+
+            List<Integer> analysedDuplicates = new ArrayList<>();
+            for (int j = 0; j < indexes.size(); j++) {
+                IngestionStats stats = statsPerItem.get(indexes.get(j));
+                String content = truncate(items.get(j).getMedia().getContent());
+                outcomes.set(indexes.get(j), report.getOutcome(j));
+                if (report.getOutcome(j) == WriteOutcome.DUPLICATE
+                        && items.get(j).getStatus() == AnalysisStatus.ANALYZED) {
+                    analysedDuplicates.add(j);
+                }
+
+                switch (report.getOutcome(j)) {
+                    case INSERTED:
+                        System.out.println("   -> [SAVED] to " + targetRepoName + ": " + content);
+                        stats.recordSaved();
+                        written.add(items.get(j));
+                        break;
+                    case DUPLICATE:
+                        System.out.println("   -> [DUPLICATE - SKIPPED]: " + content);
+                        stats.recordDuplicate();
+                        break;
+                    default:
+                        System.err.println("  ! Error saving to DB: " + content);
+                        stats.recordFailed();
                 }
             }
+            written.addAll(updateDuplicates(repoMap.get(targetRepoName), items, indexes, analysedDuplicates, outcomes));
         }
-        System.out.println("Batch Analysis Complete. Updated " + count + " items.");
+        notifyWritten(written);
+        return outcomes;
+    }
+
+    /**
+     * Writes the analysis of items that were already stored (e.g. collected by an earlier
+     * search-only run), so the answer is not thrown away. Returns the items updated.
+     */
+    private List<MediaAnalysis> updateDuplicates(MediaRepository repo, List<MediaAnalysis> items, List<Integer> indexes,
+                                                 List<Integer> duplicates, List<WriteOutcome> outcomes) {
+        List<MediaAnalysis> updated = new ArrayList<>();
+        if (duplicates.isEmpty()) return updated;
+
+        List<MediaAnalysis> analyses = new ArrayList<>(duplicates.size());
+        for (int j : duplicates) analyses.add(items.get(j));
+        try {
+            BulkWriteReport report = repo.updateAll(analyses);
+            for (int k = 0; k < duplicates.size(); k++) {
+                if (report.getOutcome(k) != WriteOutcome.UPDATED) continue;
+                outcomes.set(indexes.get(duplicates.get(k)), WriteOutcome.UPDATED);
+                updated.add(analyses.get(k));
+            }
+            System.out.println("   -> [DUPLICATE - ANALYSIS UPDATED] " + updated.size() + " of " + analyses.size());
+        } catch (Exception e) {
+            System.err.println("  ! Error updating duplicates: " + e.getMessage());
+        }
+        return updated;
+    }
+
+    private void notifyWritten(List<MediaAnalysis> written) {
+        if (writeListeners.isEmpty() || written.isEmpty()) return;
+
+        Set<String> topics = new LinkedHashSet<>();
+        for (MediaAnalysis analysis : written) {
+            topics.add(analysis.getMedia().getTopic());
+        }
+        for (String topic : topics) {
+            for (TopicWriteListener listener : writeListeners) {
+                try {
+                    listener.onTopicWritten(topic);
+                } catch (Exception e) {
+                    System.err.println("Write listener error: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private String resolveRepositoryLabel(Media item) {
+        if (item instanceof News && repoMap.containsKey("News")) return "News";
+        if (item instanceof SocialPost && repoMap.containsKey("Social Posts")) return "Social Posts";
+        return repoMap.isEmpty() ? null : repoMap.keySet().iterator().next();
     }
 
     private MediaAnalysis performAnalysis(MediaAnalysis input) {
-        Media media = input.getMedia();
-        String textToAnalyze = media.getContent();
+        return analyzeText(input, storedOrFetchedTextFor(input.getMedia()));
+    }
+
+    String fetchTextFor(Media media) {
+        return fetchTextForAsync(media).join();
+    }
 
+    /** Re-analysis reads the body saved at ingestion time and only goes to the network when it is missing or stale. */
+    private String storedOrFetchedTextFor(Media media) {
+        String stored = articleTextRepository != null ? articleTextRepository.find(media) : null;
+        if (stored != null && !stored.isEmpty()) {
+            System.out.println("   [STORED TEXT] " + truncate(media.getUrl()) + " (" + stored.length() + " chars)");
+            return stored;
+        }
+        return fetchTextFor(media);
+    }
+
+    /** Stored article body if there is one, otherwise the stored headline. Never fetches. */
+    private String storedTextFor(Media media) {
+        String stored = articleTextRepository != null ? articleTextRepository.find(media) : null;
+        return stored != null && !stored.isEmpty() ? stored : media.getContent();
+    }
+
+    CompletableFuture<String> fetchTextForAsync(Media media) {
         String url = media.getUrl();
-        if (url != null && !url.isEmpty() && url.startsWith("http")) {
-            System.out.print("   [FETCHING] Reading article... ");
-            String fullBody = contentFetcher.fetchUrlContent(url);
+        if (url == null || url.isEmpty() || !url.startsWith("http")) {
+            return CompletableFuture.completedFuture(media.getContent());
+        }
 
+        return contentFetcher.fetchUrlContentAsync(url).thenApply(fullBody -> {
             if (!fullBody.isEmpty()) {
-                textToAnalyze = fullBody;
-                System.out.println("Success (" + fullBody.length() + " chars)");
-            } else {
-                System.out.println("Failed/Skipped");
+                System.out.println("   [FETCHING] " + truncate(url) + " -> Success (" + fullBody.length() + " chars)");
+                if (articleTextRepository != null) articleTextRepository.save(media, fullBody);
+                return fullBody;
             }
+            System.out.println("   [FETCHING] " + truncate(url) + " -> Failed/Skipped");
+            return media.getContent();
+        });
+    }
+
+    MediaAnalysis analyzeText(MediaAnalysis input, String textToAnalyze) {
+        if (textToAnalyze == null || textToAnalyze.isEmpty()) {
+            textToAnalyze = input.getMedia().getContent();
         }
 
+        // One request for both results; the two separate calls remain the fallback
+        if (combinedAnalyzer != null) {
+            try {
+                AnalysisResult result = combinedAnalyzer.analyze(textToAnalyze);
+                if (result != null) {
+                    System.out.println("   [RESULT] Score: " + result.getSentiment() + " | Type: " + result.getCategory());
+                    return input.withSentiment(SentimentScore.of(result.getSentiment()))
+                            .withDamageCategory(result.getCategory())
+                            .analyzed(analysisVersion);
+                }
+                System.err.println("Combined analysis gave no valid answer, using separate calls.");
+            } catch (AIRequestException e) {
+                // The model is unreachable or overloaded: two more calls would only add load
+                System.err.println("Combined Analysis Error: " + e.getMessage() + " (left un-analyzed)");
+                return input.failed();
+            } catch (Exception e) {
+                System.err.println("Combined Analysis Error: " + e.getMessage());
+            }
+        }
+
+        // Both requests go out at once instead of one after the other
+        CompletableFuture<Double> score = sentimentAnalyzer.analyzeScoreAsync(textToAnalyze);
+        CompletableFuture<DamageCategory> category = damageClassifier != null
+                ? damageClassifier.classifyAsync(textToAnalyze)
+                : CompletableFuture.completedFuture(DamageCategory.UNKNOWN);
+
         double scoreVal = 0.0;
+        boolean failed = false;
         try {
-            scoreVal = sentimentAnalyzer.analyzeScore(textToAnalyze);
-        } catch (Exception e) {
-            System.err.println("Sentiment Error: " + e.getMessage());
+            scoreVal = score.join();
+        } catch (CompletionException e) {
+            System.err.println("Sentiment Error: " + e.getCause().getMessage());
+            failed = true;
         }
 
         DamageCategory cat = DamageCategory.UNKNOWN;
         try {
+            cat = category.join();
             if (damageClassifier != null) {
-                cat = damageClassifier.classify(textToAnalyze);
                 System.out.println("   [RESULT] Score: " + scoreVal + " | Type: " + cat);
             }
-        } catch (Exception e) {
-            System.err.println("Classification Error: " + e.getMessage());
+        } catch (CompletionException e) {
+            System.err.println("Classification Error: " + e.getCause().getMessage());
+            failed = true;
         }
 
+        // Half an answer is not stored as a result: the item keeps its values and is retried
+        if (failed) return input.failed();
         return input.withSentiment(SentimentScore.of(scoreVal))
-                .withDamageCategory(cat);
+                .withDamageCategory(cat)
+                .analyzed(analysisVersion);
     }
 
     private String truncate(String input) {
@@ -0,0 +1,39 @@
+package project.app.humanelogistics.preprocessing;
+
+import project.app.humanelogistics.config.AppConfig;
+
+/**
+ * Worker counts, queue capacity and write batch size for the staged (concurrent) ingestion mode.
+ */
+public class IngestionStageConfig {
+    private final int fetchWorkers;
+    private final int analyzeWorkers;
+    private final int persistWorkers;
+    private final int queueCapacity;
+    private final int persistBatchSize;
+
+    public IngestionStageConfig(int fetchWorkers, int analyzeWorkers, int persistWorkers,
+                                int queueCapacity, int persistBatchSize) {
+        this.fetchWorkers = Math.max(1, fetchWorkers);
+        this.analyzeWorkers = Math.max(1, analyzeWorkers);
+        this.persistWorkers = Math.max(1, persistWorkers);
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.persistBatchSize = Math.max(1, persistBatchSize);
+    }
+
+    public static IngestionStageConfig fromAppConfig(AppConfig config) {
+        return new IngestionStageConfig(
+                config.getFetchWorkers(),
+                config.getAnalyzeWorkers(),
+                config.getPersistWorkers(),
+                config.getQueueCapacity(),
+                config.getPersistBatchSize()
+        );
+    }
+
+    public int getFetchWorkers() { return fetchWorkers; }
+    public int getAnalyzeWorkers() { return analyzeWorkers; }
+    public int getPersistWorkers() { return persistWorkers; }
+    public int getQueueCapacity() { return queueCapacity; }
+    public int getPersistBatchSize() { return persistBatchSize; }
+}
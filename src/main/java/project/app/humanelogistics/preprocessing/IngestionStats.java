@@ -0,0 +1,28 @@
+package project.app.humanelogistics.preprocessing;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread-safe Saved / Duplicates / Failed counters for one collector's batch.
+ */
+public class IngestionStats {
+    private final AtomicInteger found = new AtomicInteger();
+    private final AtomicInteger saved = new AtomicInteger();
+    private final AtomicInteger duplicates = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+
+    public void recordFound() { found.incrementAndGet(); }
+    public void recordSaved() { saved.incrementAndGet(); }
+    public void recordDuplicate() { duplicates.incrementAndGet(); }
+    public void recordFailed() { failed.incrementAndGet(); }
+
+    public int getFound() { return found.get(); }
+    public int getSaved() { return saved.get(); }
+    public int getDuplicates() { return duplicates.get(); }
+    public int getFailed() { return failed.get(); }
+
+    @Override
+    public String toString() {
+        return "Saved: " + getSaved() + " | Duplicates: " + getDuplicates() + " | Failed: " + getFailed();
+    }
+}
@@ -1,13 +1,16 @@
 package project.app.humanelogistics.preprocessing;
 
 import project.app.humanelogistics.config.AppConfig;
+import project.app.humanelogistics.db.BulkWriteReport;
 import project.app.humanelogistics.db.MediaRepository;
+import project.app.humanelogistics.db.WriteOutcome;
 import project.app.humanelogistics.factory.RepositoryFactory;
 import project.app.humanelogistics.model.Media;
 import project.app.humanelogistics.model.MediaAnalysis;
 import project.app.humanelogistics.preprocessing.collector.DataCollector;
 import project.app.humanelogistics.preprocessing.collector.GoogleNewsCollector;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class NewsIngestionTask {
@@ -32,16 +35,14 @@ public class NewsIngestionTask {
             System.out.println("Fetched " + articles.size() + " articles.");
 
             System.out.println("Saving to MongoDB...");
-            int savedCount = 0;
+            List<MediaAnalysis> batch = new ArrayList<>();
             for (Media article : articles) {
-                try {
-                    // Wrap in analysis before saving
-                    newsRepo.save(MediaAnalysis.unprocessed(article));
-                    savedCount++;
-                } catch (Exception e) {
-                    System.err.println("Error saving article: " + e.getMessage());
-                }
+                // Wrap in analysis before saving
+                batch.add(MediaAnalysis.unprocessed(article));
             }
+            BulkWriteReport report = newsRepo.saveAll(batch);
+            int savedCount = report.count(WriteOutcome.INSERTED);
+            System.out.println(report);
 
             System.out.println("--- Ingestion Complete. Saved " + savedCount + " articles to 'news' collection. ---");
 
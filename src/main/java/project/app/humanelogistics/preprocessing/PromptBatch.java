@@ -0,0 +1,61 @@
+package project.app.humanelogistics.preprocessing;
+
+import project.app.humanelogistics.model.MediaAnalysis;
+import project.app.humanelogistics.preprocessing.analysis.TextCondenser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Items gathered for one multi-document prompt, bounded by an estimated token budget
+ * and an item count. Texts are condensed to a small per-item budget so one long article
+ * cannot crowd out the rest.
+ */
+class PromptBatch {
+    static final int ITEM_MAX_TOKENS = 300;
+    // Rough rule of thumb for English text, plus the per-item "### id" header
+    private static final int CHARS_PER_TOKEN = TextCondenser.CHARS_PER_TOKEN;
+    private static final int ITEM_OVERHEAD_TOKENS = 8;
+
+    private final int tokenBudget;
+    private final int maxItems;
+    private final List<MediaAnalysis> items = new ArrayList<>();
+    private final List<String> texts = new ArrayList<>();
+    private int tokens;
+
+    PromptBatch(int tokenBudget, int maxItems) {
+        this.tokenBudget = Math.max(1, tokenBudget);
+        this.maxItems = Math.max(1, maxItems);
+    }
+
+    static String clip(String text) {
+        return TextCondenser.getDefault().condense(text, ITEM_MAX_TOKENS);
+    }
+
+    static int estimateTokens(String text) {
+        return text.length() / CHARS_PER_TOKEN + ITEM_OVERHEAD_TOKENS;
+    }
+
+    /** An empty batch accepts anything, so an oversized item still goes out on its own. */
+    boolean fits(String text) {
+        if (items.isEmpty()) return true;
+        return items.size() < maxItems && tokens + estimateTokens(text) <= tokenBudget;
+    }
+
+    void add(MediaAnalysis item, String text) {
+        items.add(item);
+        texts.add(text);
+        tokens += estimateTokens(text);
+    }
+
+    boolean isEmpty() { return items.isEmpty(); }
+    int size() { return items.size(); }
+    MediaAnalysis itemAt(int index) { return items.get(index); }
+    String textAt(int index) { return texts.get(index); }
+
+    void clear() {
+        items.clear();
+        texts.clear();
+        tokens = 0;
+    }
+}
@@ -0,0 +1,253 @@
+package project.app.humanelogistics.preprocessing;
+
+import project.app.humanelogistics.db.WriteOutcome;
+import project.app.humanelogistics.model.AnalysisStatus;
+import project.app.humanelogistics.model.Media;
+import project.app.humanelogistics.model.MediaAnalysis;
+import project.app.humanelogistics.preprocessing.collector.CollectedPage;
+import project.app.humanelogistics.preprocessing.collector.CollectorStream;
+import project.app.humanelogistics.preprocessing.collector.DataCollector;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs ingestion as four stages (collect -> fetch -> analyze -> persist) joined by
+ * bounded queues. Every worker is a virtual thread; a full queue blocks its producer,
+ * so a slow Gemini backs pressure up into fetching instead of piling up articles in memory.
+ */
+class StagedIngestionEngine {
+
+    // Marker pushed once per downstream worker when a stage has drained its input
+    private static final StageItem END_OF_STREAM = new StageItem(null, null, null, null);
+
+    private final IngestionPipeline pipeline;
+    private final IngestionStageConfig config;
+
+    StagedIngestionEngine(IngestionPipeline pipeline, IngestionStageConfig config) {
+        this.pipeline = pipeline;
+        this.config = config;
+    }
+
+    Map<String, IngestionStats> run(List<DataCollector> collectors, String topic,
+                                    String startDate, String endDate, boolean analyzeImmediately,
+                                    Map<String, DayCheckpoints> checkpoints) {
+        Map<String, IngestionStats> statsByCollector = new LinkedHashMap<>();
+        for (DataCollector collector : collectors) {
+            statsByCollector.putIfAbsent(nameOf(collector), new IngestionStats());
+        }
+
+        BlockingQueue<StageItem> fetchQueue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+        BlockingQueue<StageItem> analyzeQueue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+        BlockingQueue<StageItem> persistQueue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (analyzeImmediately) {
+                startCollectStage(executor, collectors, topic, startDate, endDate,
+                        statsByCollector, checkpoints, fetchQueue, config.getFetchWorkers());
+
+                startStage(executor, config.getFetchWorkers(), fetchQueue, analyzeQueue, config.getAnalyzeWorkers(),
+                        item -> item.withText(pipeline.fetchTextFor(item.analysis.getMedia())));
+
+                startStage(executor, config.getAnalyzeWorkers(), analyzeQueue, persistQueue, config.getPersistWorkers(),
+                        item -> item.withAnalysis(pipeline.analyzeText(item.analysis, item.text)));
+            } else {
+                startCollectStage(executor, collectors, topic, startDate, endDate,
+                        statsByCollector, checkpoints, persistQueue, config.getPersistWorkers());
+            }
+
+            startPersistStage(executor, persistQueue, statsByCollector, checkpoints);
+        }
+
+        return statsByCollector;
+    }
+
+    private void startCollectStage(ExecutorService executor, List<DataCollector> collectors,
+                                   String topic, String startDate, String endDate,
+                                   Map<String, IngestionStats> statsByCollector,
+                                   Map<String, DayCheckpoints> checkpoints,
+                                   BlockingQueue<StageItem> output, int downstreamWorkers) {
+        if (collectors.isEmpty()) {
+            signalEnd(output, downstreamWorkers);
+            return;
+        }
+
+        AtomicInteger remaining = new AtomicInteger(collectors.size());
+        for (DataCollector collector : collectors) {
+            executor.submit(() -> {
+                String name = nameOf(collector);
+                IngestionStats stats = statsByCollector.get(name);
+                DayCheckpoints days = checkpoints.get(name);
+                try {
+                    System.out.println("Invoking Collector: " + name);
+                    // Items enter the fetch queue as each page is parsed, not after the whole range
+                    try (CollectorStream pages = collector.stream(topic, startDate, endDate, 1, days::shouldScrape)) {
+                        while (pages.hasNext()) {
+                            CollectedPage page = pages.next();
+                            days.pageReceived(page);
+                            for (Media item : page.getItems()) {
+                                stats.recordFound();
+                                output.put(new StageItem(name, page.getDate(), MediaAnalysis.unprocessed(item), null));
+                            }
+                        }
+                    }
+                    System.out.println("  > Collector (" + name + ") found " + stats.getFound() + " raw items.");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Exception e) {
+                    System.err.println("  ! Collector " + name + " failed: " + e.getMessage());
+                } finally {
+                    if (remaining.decrementAndGet() == 0) {
+                        signalEnd(output, downstreamWorkers);
+                    }
+                }
+            });
+        }
+    }
+
+    private void startStage(ExecutorService executor, int workers,
+                            BlockingQueue<StageItem> input, BlockingQueue<StageItem> output,
+                            int downstreamWorkers, Function<StageItem, StageItem> work) {
+        AtomicInteger remaining = new AtomicInteger(workers);
+        for (int i = 0; i < workers; i++) {
+            executor.submit(() -> {
+                try {
+                    while (true) {
+                        StageItem item = input.take();
+                        if (item == END_OF_STREAM) break;
+
+                        StageItem result;
+                        if (item.analysis.getStatus() == AnalysisStatus.FAILED) {
+                            // Failed upstream: passed along untouched so persist still counts it
+                            result = item;
+                        } else {
+                            try {
+                                result = work.apply(item);
+                            } catch (Exception e) {
+                                // Dropping the item would leave its day waiting forever; it is saved
+                                // as failed instead, so re-analysis and the checkpoint both see it
+                                System.err.println("  ! Stage error: " + e.getMessage());
+                                result = item.withAnalysis(item.analysis.failed());
+                            }
+                        }
+                        if (result != null && output != null) {
+                            output.put(result);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    if (remaining.decrementAndGet() == 0 && output != null) {
+                        signalEnd(output, downstreamWorkers);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Persist workers block for one item, then drain whatever else is queued (up to the
+     * batch size) so a busy pipeline writes with one saveAll per batch. A day's checkpoint
+     * completes when its last item is written, whichever worker writes it.
+     */
+    private void startPersistStage(ExecutorService executor, BlockingQueue<StageItem> input,
+                                   Map<String, IngestionStats> statsByCollector,
+                                   Map<String, DayCheckpoints> checkpoints) {
+        int batchSize = config.getPersistBatchSize();
+        for (int i = 0; i < config.getPersistWorkers(); i++) {
+            executor.submit(() -> {
+                List<StageItem> drained = new ArrayList<>(batchSize);
+                try {
+                    boolean finished = false;
+                    while (!finished) {
+                        drained.clear();
+                        drained.add(input.take());
+                        input.drainTo(drained, batchSize - 1);
+
+                        List<StageItem> items = new ArrayList<>(drained.size());
+                        List<MediaAnalysis> batch = new ArrayList<>(drained.size());
+                        List<IngestionStats> stats = new ArrayList<>(drained.size());
+                        int endMarkers = 0;
+                        for (StageItem item : drained) {
+                            if (item == END_OF_STREAM) {
+                                endMarkers++;
+                                continue;
+                            }
+                            items.add(item);
+                            batch.add(item.analysis);
+                            stats.add(statsByCollector.get(item.collectorName));
+                        }
+
+                        List<WriteOutcome> outcomes;
+                        try {
+                            outcomes = pipeline.persistAll(batch, stats);
+                        } catch (Exception e) {
+                            System.err.println("  ! Stage error: " + e.getMessage());
+                            outcomes = Collections.nCopies(items.size(), WriteOutcome.FAILED);
+                        }
+                        for (int k = 0; k < items.size(); k++) {
+                            StageItem item = items.get(k);
+                            checkpoints.get(item.collectorName).itemFinished(item.day,
+                                    outcomes.get(k) != WriteOutcome.FAILED,
+                                    IngestionPipeline.isStoredAnalysed(outcomes.get(k), item.analysis));
+                        }
+
+                        if (endMarkers > 0) {
+                            // Hand back markers that belong to the other persist workers
+                            for (int k = 1; k < endMarkers; k++) input.put(END_OF_STREAM);
+                            finished = true;
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+    }
+
+    private void signalEnd(BlockingQueue<StageItem> queue, int consumers) {
+        try {
+            for (int i = 0; i < consumers; i++) {
+                queue.put(END_OF_STREAM);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String nameOf(DataCollector collector) {
+        return collector.getClass().getSimpleName();
+    }
+
+    private static final class StageItem {
+        private final String collectorName;
+        private final LocalDate day;
+        private final MediaAnalysis analysis;
+        private final String text;
+
+        private StageItem(String collectorName, LocalDate day, MediaAnalysis analysis, String text) {
+            this.collectorName = collectorName;
+            this.day = day;
+            this.analysis = analysis;
+            this.text = text;
+        }
+
+        private StageItem withText(String newText) {
+            return new StageItem(collectorName, day, analysis, newText);
+        }
+
+        private StageItem withAnalysis(MediaAnalysis newAnalysis) {
+            return new StageItem(collectorName, day, newAnalysis, text);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package project.app.humanelogistics.preprocessing;
+
+/**
+ * Notified after the pipeline has inserted or updated documents for a topic,
+ * so read-side caches can drop what they hold for it.
+ */
+public interface TopicWriteListener {
+    void onTopicWritten(String topic);
+}
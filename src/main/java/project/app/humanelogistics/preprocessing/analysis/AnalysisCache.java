@@ -0,0 +1,179 @@
+package project.app.humanelogistics.preprocessing.analysis;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier cache of model answers, addressed by a hash of (kind, model, prompt version, text):
+ * a bounded in-memory LRU in front of one small file per entry under {@code directory}.
+ * Concurrent misses on the same key share a single model call.
+ */
+public class AnalysisCache {
+    private final int capacity;
+    private final Path directory;
+    private final Map<String, String> memory;
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /** {@code directory} may be null for a memory-only cache. */
+    public AnalysisCache(int capacity, Path directory) {
+        this.capacity = Math.max(1, capacity);
+        this.directory = directory;
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > AnalysisCache.this.capacity;
+            }
+        };
+    }
+
+    public static String keyOf(String kind, String modelId, String promptVersion, String text) {
+        String normalized = text == null ? "" : text.trim().replaceAll("\\s+", " ");
+        String key = kind + "|" + modelId + "|" + promptVersion + "|" + normalized;
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Returns the cached answer for {@code key}, or runs {@code loader} once for all concurrent
+     * callers. Failures throw and a null answer is not stored, so both are retried next time.
+     */
+    public String getOrCompute(String key, Supplier<String> loader) {
+        String cached = lookup(key);
+        if (cached != null) return cached;
+
+        CompletableFuture<String> mine = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            return existing.join();
+        }
+
+        try {
+            // Another caller may have finished between our lookup and claiming the key
+            String value = lookup(key);
+            if (value == null) {
+                misses.incrementAndGet();
+                value = loader.get();
+                if (value != null) store(key, value);
+            }
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /** Cached answer for {@code key}, or null. Never calls the model. */
+    public String peek(String key) {
+        String value = lookup(key);
+        if (value == null) misses.incrementAndGet();
+        return value;
+    }
+
+    /** Stores an answer obtained outside {@link #getOrCompute}, e.g. from a batched call. */
+    public void put(String key, String value) {
+        if (value != null) store(key, value);
+    }
+
+    private String lookup(String key) {
+        synchronized (memory) {
+            String value = memory.get(key);
+            if (value != null) {
+                memoryHits.incrementAndGet();
+                return value;
+            }
+        }
+
+        String value = readFile(key);
+        if (value != null) {
+            diskHits.incrementAndGet();
+            synchronized (memory) {
+                memory.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    private void store(String key, String value) {
+        synchronized (memory) {
+            memory.put(key, value);
+        }
+        writeFile(key, value);
+    }
+
+    private Path fileFor(String key) {
+        return directory.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    private String readFile(String key) {
+        if (directory == null) return null;
+        Path file = fileFor(key);
+        if (!Files.exists(file)) return null;
+        try {
+            return Files.readString(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("Analysis cache read failed: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeFile(String key, String value) {
+        if (directory == null) return;
+        Path file = fileFor(key);
+        try {
+            Files.createDirectories(file.getParent());
+            // Write then rename so a reader never sees half an entry
+            Path temp = Files.createTempFile(file.getParent(), key, ".tmp");
+            Files.writeString(temp, value, StandardCharsets.UTF_8);
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            System.err.println("Analysis cache write failed: " + e.getMessage());
+        }
+    }
+
+    public long getMemoryHits() { return memoryHits.get(); }
+    public long getDiskHits() { return diskHits.get(); }
+    public long getMisses() { return misses.get(); }
+    public long getCoalesced() { return coalesced.get(); }
+
+    public double getHitRate() {
+        long hits = memoryHits.get() + diskHits.get() + coalesced.get();
+        long total = hits + misses.get();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Hits: %d memory, %d disk, %d coalesced | Misses: %d | Hit rate: %.0f%%",
+                getMemoryHits(), getDiskHits(), getCoalesced(), getMisses(), getHitRate() * 100);
+    }
+}
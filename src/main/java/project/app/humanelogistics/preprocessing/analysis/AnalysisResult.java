@@ -0,0 +1,37 @@
+package project.app.humanelogistics.preprocessing.analysis;
+
+import project.app.humanelogistics.model.DamageCategory;
+
+/**
+ * Sentiment score and damage category produced for one text by a single model call.
+ */
+public class AnalysisResult {
+    private final double sentiment;
+    private final DamageCategory category;
+
+    public AnalysisResult(double sentiment, DamageCategory category) {
+        this.sentiment = sentiment;
+        this.category = category != null ? category : DamageCategory.UNKNOWN;
+    }
+
+    public double getSentiment() { return sentiment; }
+    public DamageCategory getCategory() { return category; }
+
+    @Override
+    public String toString() {
+        return sentiment + "|" + category.name();
+    }
+
+    /** Inverse of {@link #toString()}; null if the value is not in that form. */
+    public static AnalysisResult fromString(String value) {
+        if (value == null) return null;
+        int separator = value.indexOf('|');
+        if (separator < 0) return null;
+        try {
+            return new AnalysisResult(Double.parseDouble(value.substring(0, separator)),
+                    DamageCategory.valueOf(value.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package project.app.humanelogistics.preprocessing.analysis;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Serves repeated texts from an {@link AnalysisCache}. Failed calls (null) are never cached.
+ */
+public class CachingCombinedAnalyzer implements CombinedAnalyzer {
+    private final CombinedAnalyzer delegate;
+    private final AnalysisCache cache;
+    private final String modelId;
+    private final String promptVersion;
+
+    public CachingCombinedAnalyzer(CombinedAnalyzer delegate, AnalysisCache cache,
+                                   String modelId, String promptVersion) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.modelId = modelId;
+        this.promptVersion = promptVersion;
+    }
+
+    @Override
+    public AnalysisResult analyze(String text) {
+        if (text == null || text.trim().isEmpty()) return delegate.analyze(text);
+
+        String key = AnalysisCache.keyOf("combined", modelId, promptVersion, text);
+        String value = cache.getOrCompute(key, () -> {
+            AnalysisResult result = delegate.analyze(text);
+            return result != null ? result.toString() : null;
+        });
+        return AnalysisResult.fromString(value);
+    }
+
+    /** Answers what it can from the cache and sends only the misses on as one batch. */
+    @Override
+    public Map<String, AnalysisResult> analyzeBatch(Map<String, String> textsById) {
+        Map<String, AnalysisResult> results = new LinkedHashMap<>();
+        Map<String, String> misses = new LinkedHashMap<>();
+        Map<String, String> keys = new LinkedHashMap<>();
+
+        for (Map.Entry<String, String> entry : textsById.entrySet()) {
+            String key = AnalysisCache.keyOf("combined", modelId, promptVersion, entry.getValue());
+            AnalysisResult cached = AnalysisResult.fromString(cache.peek(key));
+            if (cached != null) {
+                results.put(entry.getKey(), cached);
+            } else {
+                misses.put(entry.getKey(), entry.getValue());
+                keys.put(entry.getKey(), key);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            for (Map.Entry<String, AnalysisResult> entry : delegate.analyzeBatch(misses).entrySet()) {
+                cache.put(keys.get(entry.getKey()), entry.getValue().toString());
+                results.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return results;
+    }
+}
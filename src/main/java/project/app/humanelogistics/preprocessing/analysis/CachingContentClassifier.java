@@ -0,0 +1,31 @@
+package project.app.humanelogistics.preprocessing.analysis;
+
+import project.app.humanelogistics.model.DamageCategory;
+
+/**
+ * Serves repeated texts from an {@link AnalysisCache}. Every answer is cached, UNKNOWN
+ * included: a failed call throws instead of returning a category.
+ */
+public class CachingContentClassifier implements ContentClassifier {
+    private final ContentClassifier delegate;
+    private final AnalysisCache cache;
+    private final String modelId;
+    private final String promptVersion;
+
+    public CachingContentClassifier(ContentClassifier delegate, AnalysisCache cache,
+                                    String modelId, String promptVersion) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.modelId = modelId;
+        this.promptVersion = promptVersion;
+    }
+
+    @Override
+    public DamageCategory classify(String text) {
+        if (text == null || text.trim().isEmpty()) return delegate.classify(text);
+
+        String key = AnalysisCache.keyOf("damage-category", modelId, promptVersion, text);
+        String value = cache.getOrCompute(key, () -> delegate.classify(text).name());
+        return DamageCategory.valueOf(value);
+    }
+}
@@ -0,0 +1,38 @@
+package project.app.humanelogistics.preprocessing.analysis;
+
+/**
+ * Serves repeated texts from an {@link AnalysisCache}. Every answer is cached, neutral ones
+ * included: a failed call throws instead of returning a score.
+ */
+public class CachingSentimentAnalyzer implements SentimentAnalyzer {
+    private final SentimentAnalyzer delegate;
+    private final AnalysisCache cache;
+    private final String modelId;
+    private final String promptVersion;
+
+    public CachingSentimentAnalyzer(SentimentAnalyzer delegate, AnalysisCache cache,
+                                    String modelId, String promptVersion) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.modelId = modelId;
+        this.promptVersion = promptVersion;
+    }
+
+    @Override
+    public double analyzeScore(String text) {
+        if (text == null || text.trim().isEmpty()) return delegate.analyzeScore(text);
+
+        String key = AnalysisCache.keyOf("sentiment-score", modelId, promptVersion, text);
+        String value = cache.getOrCompute(key, () -> Double.toString(delegate.analyzeScore(text)));
+        return Double.parseDouble(value);
+    }
+
+    @Override
+    public SentimentType analyze(String text) {
+        if (text == null || text.trim().isEmpty()) return delegate.analyze(text);
+
+        String key = AnalysisCache.keyOf("sentiment-type", modelId, promptVersion, text);
+        String value = cache.getOrCompute(key, () -> delegate.analyze(text).name());
+        return SentimentType.valueOf(value);
+    }
+}
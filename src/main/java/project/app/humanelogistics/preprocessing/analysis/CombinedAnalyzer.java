@@ -0,0 +1,36 @@
+package project.app.humanelogistics.preprocessing.analysis;
+
+import project.app.humanelogistics.utils.VirtualExecutor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Scores sentiment and classifies damage in one request.
+ */
+public interface CombinedAnalyzer {
+    /**
+     * Returns null when the model answered but the answer was not valid, so callers can fall back.
+     * A call that got no answer at all throws {@link project.app.humanelogistics.config.AIRequestException}.
+     */
+    AnalysisResult analyze(String text);
+
+    default CompletableFuture<AnalysisResult> analyzeAsync(String text) {
+        return VirtualExecutor.supplyAsync(() -> analyze(text));
+    }
+
+    /**
+     * Analyses several texts, keyed by caller-chosen IDs. The result holds an entry only for
+     * IDs that got a valid answer; callers analyse the rest one by one.
+     * The default makes one call per text.
+     */
+    default Map<String, AnalysisResult> analyzeBatch(Map<String, String> textsById) {
+        Map<String, AnalysisResult> results = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : textsById.entrySet()) {
+            AnalysisResult result = analyze(entry.getValue());
+            if (result != null) results.put(entry.getKey(), result);
+        }
+        return results;
+    }
+}
@@ -1,7 +1,14 @@
 package project.app.humanelogistics.preprocessing.analysis;
 
 import project.app.humanelogistics.model.DamageCategory;
+import project.app.humanelogistics.utils.VirtualExecutor;
+
+import java.util.concurrent.CompletableFuture;
 
 public interface ContentClassifier {
     DamageCategory classify(String text);
+
+    default CompletableFuture<DamageCategory> classifyAsync(String text) {
+        return VirtualExecutor.supplyAsync(() -> classify(text));
+    }
 }
\ No newline at end of file
@@ -3,21 +3,32 @@ package project.app.humanelogistics.preprocessing.analysis;
 import project.app.humanelogistics.model.DamageCategory;
 import project.app.humanelogistics.config.AIConfig;
 import project.app.humanelogistics.config.AIConfig.ModelType;
+import project.app.humanelogistics.config.AIRequestException;
 
 public class DamageClassifier implements ContentClassifier {
 
+    public static final ModelType MODEL = ModelType.GEMINI_FLASH;
+    // Bump whenever the prompt changes so cached answers for the old prompt are not reused
+    public static final String PROMPT_VERSION = "2";
+
     private final AIConfig aiService;
+    private final TextCondenser condenser;
 
     public DamageClassifier() {
+        this(TextCondenser.getDefault());
+    }
+
+    public DamageClassifier(TextCondenser condenser) {
         this.aiService = new AIConfig();
+        this.condenser = condenser;
     }
 
     @Override
     public DamageCategory classify(String text) {
         if (text == null || text.trim().isEmpty()) return DamageCategory.UNKNOWN;
 
-        // Truncate extremely long articles to avoid token limits
-        String safeText = text.length() > 3000 ? text.substring(0, 3000) : text;
+        // Keep the most damage-relevant sentences within the token budget
+        String safeText = condenser.condense(text);
 
         String prompt = "Classify this text regarding a disaster into EXACTLY ONE of these categories:\n" +
                 "- AFFECTED_PEOPLE (deaths, injuries, missing, evacuees)\n" +
@@ -31,12 +42,12 @@ public class DamageClassifier implements ContentClassifier {
                 "Text: " + safeText;
 
         // Use the Unified Service
-        String resultText = aiService.ask(ModelType.GEMINI_FLASH, prompt);
+        String resultText = aiService.ask(MODEL, prompt);
 
-        if (resultText != null && !resultText.startsWith("Error")) {
-            return DamageCategory.fromText(resultText.trim());
+        DamageCategory category = DamageCategory.parse(resultText);
+        if (category == null) {
+            throw new AIRequestException("Unreadable category answer: " + resultText, 0, false, null);
         }
-
-        return DamageCategory.UNKNOWN;
+        return category;
     }
 }
\ No newline at end of file
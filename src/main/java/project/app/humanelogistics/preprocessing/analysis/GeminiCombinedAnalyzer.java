@@ -0,0 +1,155 @@
+package project.app.humanelogistics.preprocessing.analysis;
+
+import org.bson.Document;
+import project.app.humanelogistics.config.AIConfig;
+import project.app.humanelogistics.config.AIConfig.ModelType;
+import project.app.humanelogistics.model.DamageCategory;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class GeminiCombinedAnalyzer implements CombinedAnalyzer {
+
+    public static final ModelType MODEL = ModelType.GEMINI_FLASH;
+    // Bump whenever the prompt changes so cached answers for the old prompt are not reused
+    public static final String PROMPT_VERSION = "2";
+
+    private final AIConfig aiService;
+    private final TextCondenser condenser;
+
+    public GeminiCombinedAnalyzer() {
+        this(new AIConfig(), TextCondenser.getDefault());
+    }
+
+    public GeminiCombinedAnalyzer(AIConfig aiService, TextCondenser condenser) {
+        this.aiService = aiService;
+        this.condenser = condenser;
+    }
+
+    @Override
+    public AnalysisResult analyze(String text) {
+        if (text == null || text.trim().isEmpty()) return null;
+
+        // Keep the most damage-relevant sentences within the token budget
+        String safeText = condenser.condense(text);
+
+        String prompt = "Analyze this text regarding a disaster and answer with a single JSON object:\n" +
+                "{\"sentiment\": <number>, \"category\": \"<CATEGORY>\"}\n\n" +
+                "sentiment: from -1.0 (extremely negative/critical) to 1.0 (extremely positive/hopeful), 0.0 is neutral.\n" +
+                "category: EXACTLY ONE of\n" +
+                "- AFFECTED_PEOPLE (deaths, injuries, missing, evacuees)\n" +
+                "- ECONOMIC_IMPACT (farms destroyed, factories closed, jobs lost)\n" +
+                "- HOUSING_DAMAGE (roofs blown off, flooded homes, collapsed walls)\n" +
+                "- LOSS_OF_BELONGINGS (vehicles, clothes, electronics lost)\n" +
+                "- INFRASTRUCTURE_DAMAGE (bridges, roads, power lines, internet)\n" +
+                "- OTHER (if it mentions damage but doesn't fit above)\n" +
+                "- UNKNOWN (if it is general news or not about specific damage)\n\n" +
+                "Return ONLY the JSON object. No markdown, no other text.\n\n" +
+                "Text: " + safeText;
+
+        String resultText = aiService.ask(MODEL, prompt);
+        if (resultText == null || resultText.isEmpty()) return null;
+
+        AnalysisResult result = parse(resultText);
+        if (result == null) {
+            System.err.println("Combined Analysis Parsing Failure: " + resultText);
+        }
+        return result;
+    }
+
+    /**
+     * Packs every text into one request, each under a "### id" header, and asks for a JSON
+     * array with one object per id. Entries that are missing, malformed or carry an unknown
+     * id are simply absent from the result.
+     */
+    @Override
+    public Map<String, AnalysisResult> analyzeBatch(Map<String, String> textsById) {
+        Map<String, AnalysisResult> results = new LinkedHashMap<>();
+        if (textsById.isEmpty()) return results;
+        if (textsById.size() == 1) {
+            Map.Entry<String, String> only = textsById.entrySet().iterator().next();
+            AnalysisResult result = analyze(only.getValue());
+            if (result != null) results.put(only.getKey(), result);
+            return results;
+        }
+
+        StringBuilder prompt = new StringBuilder()
+                .append("Analyze each of the following ").append(textsById.size())
+                .append(" texts regarding a disaster. Each text starts with a line \"### <id>\".\n")
+                .append("Answer with a JSON array containing one object per text:\n")
+                .append("[{\"id\": \"<id>\", \"sentiment\": <number>, \"category\": \"<CATEGORY>\"}, ...]\n\n")
+                .append("sentiment: from -1.0 (extremely negative/critical) to 1.0 (extremely positive/hopeful), 0.0 is neutral.\n")
+                .append("category: EXACTLY ONE of AFFECTED_PEOPLE, ECONOMIC_IMPACT, HOUSING_DAMAGE, ")
+                .append("LOSS_OF_BELONGINGS, INFRASTRUCTURE_DAMAGE, OTHER, UNKNOWN (general news, no specific damage).\n\n")
+                .append("Return ONLY the JSON array. No markdown, no other text.\n\n");
+        for (Map.Entry<String, String> entry : textsById.entrySet()) {
+            // Items arrive already condensed to the per-item budget by the batch builder
+            String text = entry.getValue() == null ? "" : entry.getValue();
+            prompt.append("### ").append(entry.getKey()).append('\n').append(text).append("\n\n");
+        }
+
+        String resultText = aiService.ask(MODEL, prompt.toString());
+        if (resultText == null || resultText.isEmpty()) return results;
+
+        results.putAll(parseBatch(resultText, textsById.keySet()));
+        if (results.size() < textsById.size()) {
+            System.err.println("Batch analysis: " + (textsById.size() - results.size())
+                    + " of " + textsById.size() + " entries missing or invalid.");
+        }
+        return results;
+    }
+
+    static Map<String, AnalysisResult> parseBatch(String response, Set<String> expectedIds) {
+        Map<String, AnalysisResult> results = new LinkedHashMap<>();
+        int start = response.indexOf('[');
+        int end = response.lastIndexOf(']');
+        if (start < 0 || end <= start) return results;
+
+        List<?> entries;
+        try {
+            // The BSON reader only parses documents, so wrap the array in one
+            entries = Document.parse("{\"items\": " + response.substring(start, end + 1) + "}").get("items", List.class);
+        } catch (RuntimeException e) {
+            return results;
+        }
+        if (entries == null) return results;
+
+        for (Object entry : entries) {
+            if (!(entry instanceof Document)) continue;
+            Object id = ((Document) entry).get("id");
+            if (id == null || !expectedIds.contains(id.toString().trim())) continue;
+
+            AnalysisResult result = parse(((Document) entry).toJson());
+            if (result != null) results.putIfAbsent(id.toString().trim(), result);
+        }
+        return results;
+    }
+
+    /**
+     * Reads {"sentiment": n, "category": "X"}, tolerating code fences or text around the object.
+     * Returns null unless the score is a number in [-1, 1] and the category is a known name.
+     */
+    static AnalysisResult parse(String response) {
+        int start = response.indexOf('{');
+        int end = response.lastIndexOf('}');
+        if (start < 0 || end <= start) return null;
+
+        try {
+            Document json = Document.parse(response.substring(start, end + 1));
+            Object sentiment = json.get("sentiment");
+            Object category = json.get("category");
+            if (sentiment == null || !(category instanceof String)) return null;
+
+            double score = sentiment instanceof Number
+                    ? ((Number) sentiment).doubleValue()
+                    : Double.parseDouble(sentiment.toString().trim());
+            if (Double.isNaN(score) || score < -1.0 || score > 1.0) return null;
+
+            return new AnalysisResult(score, DamageCategory.valueOf(((String) category).trim().toUpperCase()));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package project.app.humanelogistics.preprocessing.analysis;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Aho-Corasick automaton compiled to a dense transition table: every keyword is found
+ * in one left-to-right pass, case-insensitively, without allocating. Keywords match at
+ * the start of a word and may continue into it ("evacu" matches "Evacuated"), the same
+ * prefix behaviour as the old {@code contains} checks without hits inside other words.
+ */
+public class KeywordAutomaton {
+
+    /** Receives the id (index in the keyword list) of every match, in text order. */
+    public interface MatchSink {
+        void onMatch(int keywordId);
+    }
+
+    private final char[] charClass = new char[Character.MAX_VALUE + 1];
+    private final int alphabetSize;
+    private final int[] transitions;
+    private final int[] outputStart;
+    private final int[] outputs;
+    private final int[] keywordLength;
+
+    public KeywordAutomaton(List<String> keywords) {
+        keywordLength = new int[keywords.size()];
+
+        // 1. Alphabet: only characters that occur in keywords get a column; class 0 is "anything else"
+        int classes = 1;
+        for (String keyword : keywords) {
+            for (char c : keyword.toLowerCase(Locale.ROOT).toCharArray()) {
+                if (charClass[c] == 0) charClass[c] = (char) classes++;
+            }
+        }
+        alphabetSize = classes;
+
+        // 2. Trie
+        List<int[]> trie = new ArrayList<>();
+        List<List<Integer>> matches = new ArrayList<>();
+        trie.add(new int[alphabetSize]);
+        matches.add(new ArrayList<>());
+        for (int id = 0; id < keywords.size(); id++) {
+            String keyword = keywords.get(id).toLowerCase(Locale.ROOT);
+            keywordLength[id] = keyword.length();
+            if (keyword.isEmpty()) continue;
+
+            int state = 0;
+            for (char c : keyword.toCharArray()) {
+                int next = trie.get(state)[charClass[c]];
+                if (next == 0) {
+                    next = trie.size();
+                    trie.get(state)[charClass[c]] = next;
+                    trie.add(new int[alphabetSize]);
+                    matches.add(new ArrayList<>());
+                }
+                state = next;
+            }
+            matches.get(state).add(id);
+        }
+
+        // 3. Failure links, breadth first; missing edges are filled in so scanning never backtracks
+        int states = trie.size();
+        int[] fail = new int[states];
+        transitions = new int[states * alphabetSize];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int cls = 1; cls < alphabetSize; cls++) {
+            int next = trie.get(0)[cls];
+            transitions[cls] = next;
+            if (next != 0) queue.add(next);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            matches.get(state).addAll(matches.get(fail[state]));
+            for (int cls = 1; cls < alphabetSize; cls++) {
+                int next = trie.get(state)[cls];
+                if (next != 0) {
+                    fail[next] = transitions[fail[state] * alphabetSize + cls];
+                    transitions[state * alphabetSize + cls] = next;
+                    queue.add(next);
+                } else {
+                    transitions[state * alphabetSize + cls] = transitions[fail[state] * alphabetSize + cls];
+                }
+            }
+        }
+
+        // 4. Flatten outputs: state s reports outputs[outputStart[s] .. outputStart[s + 1])
+        outputStart = new int[states + 1];
+        List<Integer> flat = new ArrayList<>();
+        for (int state = 0; state < states; state++) {
+            outputStart[state] = flat.size();
+            flat.addAll(matches.get(state));
+        }
+        outputStart[states] = flat.size();
+        outputs = flat.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public void scan(CharSequence text, MatchSink sink) {
+        if (text == null) return;
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            state = transitions[state * alphabetSize + charClass[c]];
+
+            for (int k = outputStart[state]; k < outputStart[state + 1]; k++) {
+                int id = outputs[k];
+                int start = i - keywordLength[id] + 1;
+                if (start == 0 || !Character.isLetterOrDigit(text.charAt(start - 1))) {
+                    sink.onMatch(id);
+                }
+            }
+        }
+    }
+}
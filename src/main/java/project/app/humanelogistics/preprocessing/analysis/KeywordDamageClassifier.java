@@ -0,0 +1,25 @@
+package project.app.humanelogistics.preprocessing.analysis;
+
+import project.app.humanelogistics.model.DamageCategory;
+
+/**
+ * Local damage category from {@link DamageCategory} keyword counts: the category with the
+ * most hits wins, UNKNOWN when none matched.
+ */
+public class KeywordDamageClassifier implements ContentClassifier {
+    private final KeywordTagger tagger;
+
+    public KeywordDamageClassifier() {
+        this(KeywordTagger.getDefault());
+    }
+
+    public KeywordDamageClassifier(KeywordTagger tagger) {
+        this.tagger = tagger;
+    }
+
+    @Override
+    public DamageCategory classify(String text) {
+        if (text == null || text.isEmpty()) return DamageCategory.UNKNOWN;
+        return tagger.scan(text).getTopCategory();
+    }
+}
@@ -0,0 +1,97 @@
+package project.app.humanelogistics.preprocessing.analysis;
+
+import project.app.humanelogistics.model.DamageCategory;
+import project.app.humanelogistics.preprocessing.analysis.SentimentAnalyzer.SentimentType;
+
+import java.util.Arrays;
+
+/**
+ * Mutable result of one {@link KeywordTagger} pass: sentiment hits and weights plus a
+ * keyword count per damage category. Not thread-safe; reuse one instance per thread.
+ */
+public class KeywordScan implements KeywordAutomaton.MatchSink {
+    private static final DamageCategory[] CATEGORIES = DamageCategory.values();
+
+    private final KeywordTagger tagger;
+    private final int[] categoryCounts = new int[CATEGORIES.length];
+    private int positiveHits;
+    private int negativeHits;
+    private double weightSum;
+    private double absoluteWeightSum;
+
+    KeywordScan(KeywordTagger tagger) {
+        this.tagger = tagger;
+    }
+
+    void reset() {
+        Arrays.fill(categoryCounts, 0);
+        positiveHits = 0;
+        negativeHits = 0;
+        weightSum = 0.0;
+        absoluteWeightSum = 0.0;
+    }
+
+    @Override
+    public void onMatch(int keywordId) {
+        double weight = tagger.weightOf(keywordId);
+        if (weight > 0) positiveHits++;
+        else if (weight < 0) negativeHits++;
+        weightSum += weight;
+        absoluteWeightSum += Math.abs(weight);
+
+        DamageCategory category = tagger.categoryOf(keywordId);
+        if (category != null) categoryCounts[category.ordinal()]++;
+    }
+
+    public int getPositiveHits() { return positiveHits; }
+    public int getNegativeHits() { return negativeHits; }
+
+    /** Net weight over total weight, in [-1, 1]; 0.0 when no sentiment keyword matched. */
+    public double getSentimentScore() {
+        return absoluteWeightSum == 0.0 ? 0.0 : weightSum / absoluteWeightSum;
+    }
+
+    /** A balanced text with negative hits stays NEGATIVE, as the keyword analyzer always reported. */
+    public SentimentType getSentimentType() {
+        double score = getSentimentScore();
+        if (score < 0 || (score == 0 && negativeHits > 0)) return SentimentType.NEGATIVE;
+        if (score > 0) return SentimentType.POSITIVE;
+        return SentimentType.NEUTRAL;
+    }
+
+    /**
+     * How far the sentiment score can be trusted, in [0, 1]: the score's strength damped by
+     * the number of hits, so one keyword gives at most 0.5 and mixed hits give less.
+     */
+    public double getSentimentConfidence() {
+        int hits = positiveHits + negativeHits;
+        return Math.abs(getSentimentScore()) * hits / (hits + 1.0);
+    }
+
+    public int getCategoryCount(DamageCategory category) {
+        return categoryCounts[category.ordinal()];
+    }
+
+    public int getCategoryHits() {
+        int total = 0;
+        for (int count : categoryCounts) total += count;
+        return total;
+    }
+
+    /** Share of category hits that went to the top category, damped the same way as sentiment. */
+    public double getCategoryConfidence() {
+        DamageCategory top = getTopCategory();
+        if (top == DamageCategory.UNKNOWN) return 0.0;
+        int topHits = categoryCounts[top.ordinal()];
+        return (double) topHits / getCategoryHits() * topHits / (topHits + 1.0);
+    }
+
+    /** Category with the most keyword hits (earlier enum constants win ties), or UNKNOWN. */
+    public DamageCategory getTopCategory() {
+        int best = -1;
+        for (int i = 0; i < categoryCounts.length; i++) {
+            if (categoryCounts[i] > 0 && (best < 0 || categoryCounts[i] > categoryCounts[best])) best = i;
+        }
+        return best < 0 ? DamageCategory.UNKNOWN : CATEGORIES[best];
+    }
+}
@@ -1,32 +1,28 @@
 package project.app.humanelogistics.preprocessing.analysis;
 
+/**
+ * Local sentiment from weighted keyword hits, one automaton pass per text and no model call.
+ */
 public class KeywordSentimentAnalyzer implements SentimentAnalyzer {
+    private final KeywordTagger tagger;
+
+    public KeywordSentimentAnalyzer() {
+        this(KeywordTagger.getDefault());
+    }
+
+    public KeywordSentimentAnalyzer(KeywordTagger tagger) {
+        this.tagger = tagger;
+    }
 
     @Override
     public SentimentType analyze(String text) {
         if (text == null || text.isEmpty()) return SentimentType.NEUTRAL;
-
-        String lower = text.toLowerCase();
-
-        if (lower.contains("damage") || lower.contains("fake") ||
-                lower.contains("worry") || lower.contains("disaster") || lower.contains("wind")) {
-            return SentimentType.NEGATIVE;
-        }
-        else if (lower.contains("hope") || lower.contains("safe") ||
-                lower.contains("solidarity") || lower.contains("thank") || lower.contains("support")) {
-            return SentimentType.POSITIVE;
-        }
-
-        return SentimentType.NEUTRAL;
+        return tagger.scan(text).getSentimentType();
     }
 
     @Override
     public double analyzeScore(String text) {
-        SentimentType type = analyze(text);
-        switch (type) {
-            case POSITIVE: return 1.0;
-            case NEGATIVE: return -1.0;
-            default: return 0.0;
-        }
+        if (text == null || text.isEmpty()) return 0.0;
+        return tagger.scan(text).getSentimentScore();
     }
-}
\ No newline at end of file
+}
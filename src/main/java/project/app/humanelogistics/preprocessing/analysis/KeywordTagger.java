@@ -0,0 +1,96 @@
+package project.app.humanelogistics.preprocessing.analysis;
+
+import project.app.humanelogistics.model.DamageCategory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Tags a text with weighted sentiment hits and damage-category keyword counts in a single
+ * pass of a {@link KeywordAutomaton}. A keyword may carry both a weight and a category
+ * ("damage" is negative and OTHER). Reuse one {@link KeywordScan} per thread to scan
+ * without allocating.
+ */
+public class KeywordTagger {
+
+    /** Sentiment stems with their weights; negative words pull the score below zero. */
+    public static final Map<String, Double> DEFAULT_SENTIMENT_WEIGHTS = Map.ofEntries(
+            Map.entry("disaster", -1.0),
+            Map.entry("damage", -0.8),
+            Map.entry("worry", -0.6),
+            Map.entry("fake", -0.6),
+            Map.entry("wind", -0.4),
+            Map.entry("solidarity", 1.0),
+            Map.entry("thank", 0.8),
+            Map.entry("safe", 0.8),
+            Map.entry("support", 0.6),
+            Map.entry("hope", 0.6)
+    );
+
+    private static final class DefaultHolder {
+        private static final KeywordTagger INSTANCE = new KeywordTagger(DEFAULT_SENTIMENT_WEIGHTS);
+    }
+
+    private final KeywordAutomaton automaton;
+    private final double[] weights;
+    private final DamageCategory[] categories;
+
+    /** Builds a tagger from the given sentiment weights plus every {@link DamageCategory} keyword list. */
+    public KeywordTagger(Map<String, Double> sentimentWeights) {
+        Map<String, Integer> ids = new LinkedHashMap<>();
+        List<Double> weightList = new ArrayList<>();
+        List<DamageCategory> categoryList = new ArrayList<>();
+
+        sentimentWeights.forEach((word, weight) -> {
+            int id = idOf(word, ids, weightList, categoryList);
+            weightList.set(id, weightList.get(id) + weight);
+        });
+        for (DamageCategory category : DamageCategory.values()) {
+            for (String word : category.getKeywords()) {
+                int id = idOf(word, ids, weightList, categoryList);
+                if (categoryList.get(id) == null) categoryList.set(id, category);
+            }
+        }
+
+        this.automaton = new KeywordAutomaton(new ArrayList<>(ids.keySet()));
+        this.weights = weightList.stream().mapToDouble(Double::doubleValue).toArray();
+        this.categories = categoryList.toArray(new DamageCategory[0]);
+    }
+
+    public static KeywordTagger getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    public KeywordScan newScan() {
+        return new KeywordScan(this);
+    }
+
+    /** Convenience form that allocates a fresh result. */
+    public KeywordScan scan(String text) {
+        return scan(text, newScan());
+    }
+
+    /** Resets {@code into} and fills it from one pass over {@code text}. */
+    public KeywordScan scan(String text, KeywordScan into) {
+        into.reset();
+        automaton.scan(text, into);
+        return into;
+    }
+
+    double weightOf(int keywordId) { return weights[keywordId]; }
+    DamageCategory categoryOf(int keywordId) { return categories[keywordId]; }
+
+    private static int idOf(String word, Map<String, Integer> ids,
+                            List<Double> weightList, List<DamageCategory> categoryList) {
+        String key = word.toLowerCase(Locale.ROOT);
+        Integer id = ids.get(key);
+        if (id != null) return id;
+        ids.put(key, weightList.size());
+        weightList.add(0.0);
+        categoryList.add(null);
+        return weightList.size() - 1;
+    }
+}
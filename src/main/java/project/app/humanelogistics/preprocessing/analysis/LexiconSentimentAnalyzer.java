@@ -0,0 +1,102 @@
+package project.app.humanelogistics.preprocessing.analysis;
+
+/**
+ * Continuous sentiment from a weighted {@link SentimentLexicon}, in the style of VADER:
+ * intensifiers scale the next sentiment word, a negator flips (and softens) the words in
+ * the following few tokens up to the end of the sentence, and the sum is squashed into
+ * (-1, 1). Tokens are hashed while the text is scanned, so scoring allocates nothing.
+ */
+public class LexiconSentimentAnalyzer implements SentimentAnalyzer {
+    private static final int NEGATION_WINDOW = 3;
+    private static final double NEGATION_FACTOR = -0.74;
+    private static final int INTENSIFIER_REACH = 2;
+    private static final double NORMALIZATION_ALPHA = 15.0;
+    private static final double NEUTRAL_BAND = 0.05;
+
+    private final SentimentLexicon lexicon;
+
+    public LexiconSentimentAnalyzer() {
+        this(SentimentLexicon.getDefault());
+    }
+
+    public LexiconSentimentAnalyzer(SentimentLexicon lexicon) {
+        this.lexicon = lexicon;
+    }
+
+    @Override
+    public SentimentType analyze(String text) {
+        double score = analyzeScore(text);
+        if (score >= NEUTRAL_BAND) return SentimentType.POSITIVE;
+        if (score <= -NEUTRAL_BAND) return SentimentType.NEGATIVE;
+        return SentimentType.NEUTRAL;
+    }
+
+    @Override
+    public double analyzeScore(String text) {
+        return score(text);
+    }
+
+    /** Normalized score in (-1, 1); 0.0 when no lexicon word occurs. */
+    public double score(CharSequence text) {
+        if (text == null) return 0.0;
+
+        double sum = 0.0;
+        int negationLeft = 0;
+        double boost = 1.0;
+        int boostLeft = 0;
+
+        long hash = TokenHash.EMPTY;
+        long hashBeforeApostrophe = hash;
+        int length = 0;
+        boolean endsWithApostrophe = false;
+
+        int n = text.length();
+        for (int i = 0; i <= n; i++) {
+            char c = i < n ? text.charAt(i) : ' ';
+            boolean apostrophe = c == '\'' || c == '’';
+            if (Character.isLetterOrDigit(c) || (apostrophe && length > 0)) {
+                if (!apostrophe) hashBeforeApostrophe = TokenHash.step(hashBeforeApostrophe, c);
+                hash = TokenHash.step(hash, c);
+                endsWithApostrophe = apostrophe;
+                length++;
+                continue;
+            }
+
+            if (length > 0) {
+                // "workers'" looks up "workers"; "don't" keeps its apostrophe
+                long token = endsWithApostrophe ? hashBeforeApostrophe : hash;
+
+                if (lexicon.isNegator(token)) {
+                    negationLeft = NEGATION_WINDOW;
+                } else {
+                    double intensity = lexicon.intensityOf(token);
+                    if (intensity != 1.0) {
+                        boost *= intensity;
+                        boostLeft = INTENSIFIER_REACH;
+                    } else {
+                        double weight = lexicon.weightOf(token);
+                        if (weight != 0.0) {
+                            double value = weight * boost;
+                            if (negationLeft > 0) value *= NEGATION_FACTOR;
+                            sum += value;
+                            boost = 1.0;
+                            boostLeft = 0;
+                        }
+                        if (negationLeft > 0) negationLeft--;
+                        if (boostLeft > 0 && --boostLeft == 0) boost = 1.0;
+                    }
+                }
+
+                hash = TokenHash.EMPTY;
+                hashBeforeApostrophe = hash;
+                length = 0;
+                endsWithApostrophe = false;
+            }
+
+            // Negation does not reach past the end of a sentence
+            if (c == '.' || c == '!' || c == '?' || c == ';') negationLeft = 0;
+        }
+
+        return sum == 0.0 ? 0.0 : sum / Math.sqrt(sum * sum + NORMALIZATION_ALPHA);
+    }
+}
@@ -0,0 +1,191 @@
+package project.app.humanelogistics.preprocessing.analysis;
+
+import project.app.humanelogistics.model.DamageCategory;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Multinomial naive Bayes over hashed unigram and bigram features, learned from the damage
+ * categories the model already assigned. The whole model is one float table of
+ * log-probabilities per category, so classifying is a single tokenizing pass plus
+ * {@code categories x features} additions.
+ *
+ * UNKNOWN is trained as a class of its own, from items the model judged to describe no
+ * damage, so general news is not forced into one of the damage types.
+ */
+public class NaiveBayesDamageClassifier implements ContentClassifier {
+    private static final int FORMAT_MAGIC = 0x4e424443; // "NBDC"
+    private static final int FORMAT_VERSION = 2;
+    private static final double SMOOTHING = 0.5;
+
+    private final DamageCategory[] categories;
+    private final float[] logPriors;
+    private final float[][] logLikelihoods;
+    private final int mask;
+
+    private NaiveBayesDamageClassifier(DamageCategory[] categories, float[] logPriors, float[][] logLikelihoods) {
+        this.categories = categories;
+        this.logPriors = logPriors;
+        this.logLikelihoods = logLikelihoods;
+        this.mask = logLikelihoods[0].length - 1;
+    }
+
+    /**
+     * Learns from parallel lists of texts and labels. Null labels are ignored;
+     * {@code buckets} is rounded up to a power of two.
+     */
+    public static NaiveBayesDamageClassifier train(List<String> texts, List<DamageCategory> labels, int buckets) {
+        DamageCategory[] categories = DamageCategory.values();
+        int size = Integer.highestOneBit(Math.max(2, buckets) - 1) << 1;
+        int featureMask = size - 1;
+
+        long[][] counts = new long[categories.length][size];
+        long[] featureTotals = new long[categories.length];
+        long[] documents = new long[categories.length];
+        long documentTotal = 0;
+
+        for (int i = 0; i < texts.size(); i++) {
+            DamageCategory label = labels.get(i);
+            if (label == null) continue;
+            int c = label.ordinal();
+            long[] row = counts[c];
+            featureTotals[c] += forEachFeature(texts.get(i), featureMask, bucket -> row[bucket]++);
+            documents[c]++;
+            documentTotal++;
+        }
+        if (documentTotal == 0) throw new IllegalArgumentException("No labelled texts to train on");
+
+        float[] logPriors = new float[categories.length];
+        float[][] logLikelihoods = new float[categories.length][size];
+        for (int c = 0; c < categories.length; c++) {
+            // Smoothed so a category never seen in training is possible but never preferred
+            logPriors[c] = (float) Math.log((documents[c] + SMOOTHING) / (documentTotal + SMOOTHING * categories.length));
+            double denominator = featureTotals[c] + SMOOTHING * size;
+            for (int b = 0; b < size; b++) {
+                logLikelihoods[c][b] = (float) Math.log((counts[c][b] + SMOOTHING) / denominator);
+            }
+        }
+        return new NaiveBayesDamageClassifier(categories, logPriors, logLikelihoods);
+    }
+
+    @Override
+    public DamageCategory classify(String text) {
+        if (text == null || text.isBlank()) return DamageCategory.UNKNOWN;
+
+        double[] scores = new double[categories.length];
+        for (int c = 0; c < categories.length; c++) scores[c] = logPriors[c];
+        forEachFeature(text, mask, bucket -> {
+            for (int c = 0; c < categories.length; c++) scores[c] += logLikelihoods[c][bucket];
+        });
+
+        int best = 0;
+        for (int c = 1; c < categories.length; c++) {
+            if (scores[c] > scores[best]) best = c;
+        }
+        return categories[best];
+    }
+
+    public int getBuckets() {
+        return mask + 1;
+    }
+
+    /** Writes to a temporary file first, so a crash never leaves a half-written model behind. */
+    public void save(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try (OutputStream raw = Files.newOutputStream(temp);
+             DataOutputStream out = new DataOutputStream(new GZIPOutputStream(raw))) {
+            out.writeInt(FORMAT_MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(categories.length);
+            out.writeInt(mask + 1);
+            for (int c = 0; c < categories.length; c++) {
+                out.writeUTF(categories[c].name());
+                out.writeFloat(logPriors[c]);
+                for (float value : logLikelihoods[c]) out.writeFloat(value);
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public static NaiveBayesDamageClassifier load(Path file) throws IOException {
+        try (InputStream raw = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new GZIPInputStream(raw))) {
+            if (in.readInt() != FORMAT_MAGIC) throw new IOException("Not a damage classifier model: " + file);
+            int version = in.readInt();
+            // Version 1 had no UNKNOWN class and labelled everything as damage: retrain
+            if (version != FORMAT_VERSION) throw new IOException("Unsupported model version " + version + ": " + file);
+
+            int count = in.readInt();
+            int size = in.readInt();
+            if (count <= 0 || size <= 0 || Integer.bitCount(size) != 1) throw new IOException("Corrupt model header: " + file);
+
+            DamageCategory[] categories = new DamageCategory[count];
+            float[] logPriors = new float[count];
+            float[][] logLikelihoods = new float[count][size];
+            for (int c = 0; c < count; c++) {
+                try {
+                    categories[c] = DamageCategory.valueOf(in.readUTF());
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Model uses an unknown category: " + file, e);
+                }
+                logPriors[c] = in.readFloat();
+                for (int b = 0; b < size; b++) logLikelihoods[c][b] = in.readFloat();
+            }
+            return new NaiveBayesDamageClassifier(categories, logPriors, logLikelihoods);
+        }
+    }
+
+    private interface FeatureSink {
+        void accept(int bucket);
+    }
+
+    /** Calls {@code sink} for every unigram and adjacent-pair bucket; returns how many it reported. */
+    private static int forEachFeature(CharSequence text, int featureMask, FeatureSink sink) {
+        int features = 0;
+        long previous = 0;
+        boolean hasPrevious = false;
+        long hash = TokenHash.EMPTY;
+        int length = 0;
+
+        int n = text.length();
+        for (int i = 0; i <= n; i++) {
+            char c = i < n ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                hash = TokenHash.step(hash, c);
+                length++;
+                continue;
+            }
+            if (length > 0) {
+                sink.accept(bucketOf(hash, featureMask));
+                features++;
+                if (hasPrevious) {
+                    sink.accept(bucketOf(TokenHash.pair(previous, hash), featureMask));
+                    features++;
+                }
+                previous = hash;
+                hasPrevious = true;
+                hash = TokenHash.EMPTY;
+                length = 0;
+            }
+            // Pairs do not span sentences
+            if (c == '.' || c == '!' || c == '?' || c == ';') hasPrevious = false;
+        }
+        return features;
+    }
+
+    private static int bucketOf(long hash, int featureMask) {
+        return (int) (hash ^ (hash >>> 32)) & featureMask;
+    }
+}
@@ -1,8 +1,20 @@
 package project.app.humanelogistics.preprocessing.analysis;
 
+import project.app.humanelogistics.utils.VirtualExecutor;
+
+import java.util.concurrent.CompletableFuture;
+
 public interface SentimentAnalyzer {
     enum SentimentType { POSITIVE, NEGATIVE, NEUTRAL }
 
     SentimentType analyze(String text);
     double analyzeScore(String text);
+
+    default CompletableFuture<SentimentType> analyzeAsync(String text) {
+        return VirtualExecutor.supplyAsync(() -> analyze(text));
+    }
+
+    default CompletableFuture<Double> analyzeScoreAsync(String text) {
+        return VirtualExecutor.supplyAsync(() -> analyzeScore(text));
+    }
 }
\ No newline at end of file
@@ -2,13 +2,24 @@ package project.app.humanelogistics.preprocessing.analysis;
 
 import project.app.humanelogistics.config.AIConfig;
 import project.app.humanelogistics.config.AIConfig.ModelType;
+import project.app.humanelogistics.config.AIRequestException;
 
 public class SentimentGrade implements SentimentAnalyzer {
 
+    public static final ModelType MODEL = ModelType.GEMINI_FLASH;
+    // Bump whenever the prompt changes so cached answers for the old prompt are not reused
+    public static final String PROMPT_VERSION = "2";
+
     private final AIConfig aiService;
+    private final TextCondenser condenser;
 
     public SentimentGrade() {
+        this(TextCondenser.getDefault());
+    }
+
+    public SentimentGrade(TextCondenser condenser) {
         this.aiService = new AIConfig();
+        this.condenser = condenser;
     }
 
     @Override
@@ -17,22 +28,20 @@ public class SentimentGrade implements SentimentAnalyzer {
 
         String prompt = "Analyze the sentiment of this text regarding a disaster. " +
                 "Rate it on a scale from -1.0 (extremely negative/critical) to 1.0 (extremely positive/hopeful). " +
-                "0.0 is neutral. Respond with ONLY the numeric value (e.g., -0.5, 0.8, 0.0). No words.\n\nPost: " + text;
+                "0.0 is neutral. Respond with ONLY the numeric value (e.g., -0.5, 0.8, 0.0). No words.\n\nPost: " + condenser.condense(text);
 
         // Use the Unified Service
-        String resultText = aiService.ask(ModelType.GEMINI_FLASH, prompt);
+        String resultText = aiService.ask(MODEL, prompt);
 
+        // Clean up any stray markdown or whitespace. An answer that is not a number is a
+        // failure, not a neutral score
+        String number = resultText.replaceAll("[^\\d.-]", "");
         try {
-            if (resultText != null && !resultText.startsWith("Error")) {
-                // Clean up any stray markdown or whitespace
-                resultText = resultText.replaceAll("[^\\d.-]", "");
-                if (resultText.isEmpty()) return 0.0;
-                return Double.parseDouble(resultText.trim());
-            }
-        } catch (Exception e) {
-            System.err.println("Sentiment Parsing Failure: " + e.getMessage());
+            double score = Double.parseDouble(number);
+            return Math.max(-1.0, Math.min(1.0, score));
+        } catch (NumberFormatException e) {
+            throw new AIRequestException("Unreadable sentiment answer: " + resultText, 0, false, e);
         }
-        return 0.0;
     }
 
     @Override
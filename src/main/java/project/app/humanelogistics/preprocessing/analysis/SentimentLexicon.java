@@ -0,0 +1,82 @@
+package project.app.humanelogistics.preprocessing.analysis;
+
+import project.app.humanelogistics.utils.LongDoubleMap;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Word weights, intensifiers and negators read from a plain-text resource, stored in
+ * primitive tables keyed by the {@link TokenHash} of the lower-case token. Tokens are hashed
+ * as they are read, so lookups never build a String.
+ *
+ * File format: {@code [words]}, {@code [intensifiers]} and {@code [negators]} sections,
+ * one {@code token value} pair per line (negators have no value), {@code #} comments.
+ */
+public class SentimentLexicon {
+    public static final String DEFAULT_RESOURCE = "/project/app/humanelogistics/sentiment-lexicon.txt";
+
+    private static final class DefaultHolder {
+        private static final SentimentLexicon INSTANCE = fromResource(DEFAULT_RESOURCE);
+    }
+
+    private final LongDoubleMap words = new LongDoubleMap(512);
+    private final LongDoubleMap intensifiers = new LongDoubleMap(64);
+    private final LongDoubleMap negators = new LongDoubleMap(32);
+
+    public static SentimentLexicon getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    public static SentimentLexicon fromResource(String resource) {
+        try (InputStream in = SentimentLexicon.class.getResourceAsStream(resource)) {
+            if (in == null) throw new IllegalStateException("Sentiment lexicon not found: " + resource);
+            return read(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read sentiment lexicon " + resource, e);
+        }
+    }
+
+    public static SentimentLexicon read(BufferedReader reader) throws IOException {
+        SentimentLexicon lexicon = new SentimentLexicon();
+        LongDoubleMap section = null;
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+
+            switch (line) {
+                case "[words]" -> section = lexicon.words;
+                case "[intensifiers]" -> section = lexicon.intensifiers;
+                case "[negators]" -> section = lexicon.negators;
+                default -> {
+                    if (section == null) throw new IOException("Entry outside a section at line " + lineNumber);
+                    String[] parts = line.split("\\s+");
+                    try {
+                        double value = parts.length > 1 ? Double.parseDouble(parts[1]) : 1.0;
+                        section.put(TokenHash.of(parts[0], 0, parts[0].length()), value);
+                    } catch (NumberFormatException e) {
+                        throw new IOException("Bad value at line " + lineNumber + ": " + line);
+                    }
+                }
+            }
+        }
+        return lexicon;
+    }
+
+    /** Valence of a word, 0.0 when not in the lexicon. */
+    public double weightOf(long tokenHash) { return words.get(tokenHash, 0.0); }
+
+    /** Multiplier for the next sentiment word, 1.0 when the token is not an intensifier. */
+    public double intensityOf(long tokenHash) { return intensifiers.get(tokenHash, 1.0); }
+
+    public boolean isNegator(long tokenHash) { return negators.containsKey(tokenHash); }
+
+    public int size() { return words.size(); }
+}
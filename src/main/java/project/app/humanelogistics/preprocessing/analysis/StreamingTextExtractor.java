@@ -0,0 +1,192 @@
+package project.app.humanelogistics.preprocessing.analysis;
+
+import org.jsoup.parser.Parser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Pulls article text out of an HTML stream without building a DOM. It reads at most
+ * {@code maxBytes}, ignores everything inside skipped elements (navigation, footers...),
+ * keeps only text inside text elements (paragraphs by default) and stops reading as soon
+ * as {@code targetChars} of text have been collected.
+ *
+ * Script and style bodies are always skipped as raw text, whatever the configured skip list.
+ * Every tag boundary separates words, and a '<' that cannot start a tag is kept as text.
+ */
+public class StreamingTextExtractor {
+    private static final int MAX_TAG_LENGTH = 4096;
+
+    private final long maxBytes;
+    private final int targetChars;
+    private final Set<String> skipTags;
+    private final Set<String> textTags;
+
+    public StreamingTextExtractor(long maxBytes, int targetChars,
+                                  Collection<String> skipTags, Collection<String> textTags) {
+        this.maxBytes = Math.max(1, maxBytes);
+        this.targetChars = Math.max(1, targetChars);
+        this.skipTags = normalize(skipTags);
+        this.textTags = normalize(textTags);
+    }
+
+    public String extract(InputStream body, Charset charset) throws IOException {
+        PushbackReader reader = new PushbackReader(
+                new BufferedReader(new InputStreamReader(new CappedInputStream(body, maxBytes), charset)));
+        StringBuilder text = new StringBuilder(Math.min(targetChars, 8192) + 64);
+        int skipDepth = 0;
+        int textDepth = 0;
+        boolean lastWasSpace = true;
+
+        int c;
+        while ((c = reader.read()) != -1 && text.length() < targetChars) {
+            if (c == '<' && !startsTag(reader)) {
+                // "a < b": a bare '<' is text, not the start of a tag running to the next '>'
+                if (textDepth > 0 && skipDepth == 0) {
+                    text.append('<');
+                    lastWasSpace = false;
+                }
+                continue;
+            }
+            if (c != '<') {
+                if (textDepth > 0 && skipDepth == 0) {
+                    if (Character.isWhitespace(c)) {
+                        if (!lastWasSpace) text.append(' ');
+                        lastWasSpace = true;
+                    } else {
+                        text.append((char) c);
+                        lastWasSpace = false;
+                    }
+                }
+                continue;
+            }
+
+            String tag = readTag(reader);
+            if (tag == null) break;
+            // Tags separate words ("A<br>B" is two words), like Elements.text() for block tags
+            if (!lastWasSpace) {
+                text.append(' ');
+                lastWasSpace = true;
+            }
+            if (tag.startsWith("!--")) {
+                if (!tag.endsWith("--")) skipPast(reader, "-->");
+                continue;
+            }
+
+            boolean closing = tag.startsWith("/");
+            String name = tagName(closing ? tag.substring(1) : tag);
+            if (name.isEmpty()) continue;
+
+            if (!closing && (name.equals("script") || name.equals("style"))) {
+                if (!tag.endsWith("/")) skipPast(reader, "</" + name);
+                continue;
+            }
+
+            if (skipTags.contains(name)) {
+                if (closing) {
+                    if (skipDepth > 0) skipDepth--;
+                } else if (!tag.endsWith("/")) {
+                    skipDepth++;
+                }
+            } else if (textTags.contains(name)) {
+                // Counted, not toggled: text after a nested paragraph closes is still inside the outer one
+                if (closing) {
+                    if (textDepth > 0) textDepth--;
+                } else if (!tag.endsWith("/")) {
+                    textDepth++;
+                }
+            }
+        }
+
+        String raw = text.length() > targetChars ? text.substring(0, targetChars) : text.toString();
+        return Parser.unescapeEntities(raw, false).trim();
+    }
+
+    /** A tag starts with a letter, '/', '!' or '?' right after the '<'; the peeked char is pushed back. */
+    private static boolean startsTag(PushbackReader reader) throws IOException {
+        int next = reader.read();
+        if (next == -1) return false;
+        reader.unread(next);
+        return Character.isLetter(next) || next == '/' || next == '!' || next == '?';
+    }
+
+    /** Reads up to the closing '>' and returns the tag body, or null at end of input. */
+    private String readTag(Reader reader) throws IOException {
+        StringBuilder tag = new StringBuilder();
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c == '>') return tag.toString().trim();
+            if (tag.length() < MAX_TAG_LENGTH) tag.append((char) c);
+        }
+        return null;
+    }
+
+    private void skipPast(Reader reader, String marker) throws IOException {
+        String lower = marker.toLowerCase(Locale.ROOT);
+        int matched = 0;
+        int c;
+        while ((c = reader.read()) != -1) {
+            char ch = Character.toLowerCase((char) c);
+            if (ch == lower.charAt(matched)) {
+                matched++;
+                if (matched == lower.length()) {
+                    if (!lower.endsWith(">")) readTag(reader);
+                    return;
+                }
+            } else {
+                matched = ch == lower.charAt(0) ? 1 : 0;
+            }
+        }
+    }
+
+    private static String tagName(String tag) {
+        int end = 0;
+        while (end < tag.length() && Character.isLetterOrDigit(tag.charAt(end))) end++;
+        return tag.substring(0, end).toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> normalize(Collection<String> tags) {
+        Set<String> result = new HashSet<>();
+        if (tags == null) return result;
+        for (String tag : tags) {
+            if (tag != null && !tag.isBlank()) result.add(tag.trim().toLowerCase(Locale.ROOT));
+        }
+        return result;
+    }
+
+    /** Reports end of input once the byte budget is spent, so the rest of the page is never read. */
+    private static final class CappedInputStream extends InputStream {
+        private final InputStream delegate;
+        private long remaining;
+
+        private CappedInputStream(InputStream delegate, long limit) {
+            this.delegate = delegate;
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) return -1;
+            int b = delegate.read();
+            if (b != -1) remaining--;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (remaining <= 0) return -1;
+            int n = delegate.read(buffer, offset, (int) Math.min(length, remaining));
+            if (n > 0) remaining -= n;
+            return n;
+        }
+    }
+}
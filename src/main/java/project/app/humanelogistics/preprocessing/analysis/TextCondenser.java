@@ -0,0 +1,173 @@
+package project.app.humanelogistics.preprocessing.analysis;
+
+import project.app.humanelogistics.config.AppConfig;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shrinks a text to an estimated token budget before it goes into a prompt. Texts that
+ * already fit pass through unchanged; longer ones keep their highest-ranked sentences, in
+ * their original order. Sentences rank by disaster-keyword density (the {@link KeywordTagger}
+ * lists), with a bonus for the lead sentences and for figures such as casualty counts.
+ *
+ * Counts characters before and after, so prompt sizes can be watched across a run.
+ */
+public class TextCondenser {
+    // Same rule of thumb as the batch prompt builder
+    public static final int CHARS_PER_TOKEN = 4;
+
+    private static final double LEAD_BONUS = 1.0;
+    private static final double DIGIT_BONUS = 0.3;
+    private static final int MIN_SENTENCE_CHARS = 20;
+
+    private static final class DefaultHolder {
+        private static final TextCondenser INSTANCE =
+                new TextCondenser(AppConfig.getInstance().getAnalysisTokenBudget(), KeywordTagger.getDefault());
+    }
+
+    private final int tokenBudget;
+    private final KeywordTagger tagger;
+
+    private final AtomicLong texts = new AtomicLong();
+    private final AtomicLong condensed = new AtomicLong();
+    private final AtomicLong charsIn = new AtomicLong();
+    private final AtomicLong charsOut = new AtomicLong();
+
+    public TextCondenser(int tokenBudget, KeywordTagger tagger) {
+        this.tokenBudget = Math.max(1, tokenBudget);
+        this.tagger = tagger;
+    }
+
+    /** Shared instance used by the model-backed analyzers, budget from ANALYSIS_TOKEN_BUDGET. */
+    public static TextCondenser getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    public String condense(String text) {
+        return condense(text, tokenBudget);
+    }
+
+    public String condense(String text, int budgetTokens) {
+        if (text == null) return "";
+        int maxChars = Math.max(1, budgetTokens) * CHARS_PER_TOKEN;
+        String trimmed = text.trim();
+        String result = text.length() <= maxChars ? text : trimmed.isEmpty() ? "" : select(trimmed, maxChars);
+
+        texts.incrementAndGet();
+        if (result.length() < text.length()) condensed.incrementAndGet();
+        charsIn.addAndGet(text.length());
+        charsOut.addAndGet(result.length());
+        return result;
+    }
+
+    private String select(String text, int maxChars) {
+        List<Sentence> sentences = split(text);
+        if (sentences.isEmpty()) return "";
+        KeywordScan scan = tagger.newScan();
+        for (Sentence sentence : sentences) {
+            sentence.score = score(text.substring(sentence.start, sentence.end), sentence.index, scan);
+        }
+
+        List<Sentence> ranked = new ArrayList<>(sentences);
+        ranked.sort(Comparator.comparingDouble((Sentence s) -> s.score).reversed()
+                .thenComparingInt(s -> s.index));
+
+        // Greedy fill: a sentence that does not fit is skipped, a shorter one further down may
+        boolean[] chosen = new boolean[sentences.size()];
+        int used = 0;
+        for (Sentence sentence : ranked) {
+            int cost = sentence.length() + (used == 0 ? 0 : 1);
+            if (used + cost <= maxChars) {
+                chosen[sentence.index] = true;
+                used += cost;
+            }
+        }
+
+        StringBuilder excerpt = new StringBuilder(used);
+        for (Sentence sentence : sentences) {
+            if (!chosen[sentence.index]) continue;
+            if (excerpt.length() > 0) excerpt.append(' ');
+            excerpt.append(text, sentence.start, sentence.end);
+        }
+        if (excerpt.length() == 0) {
+            // Not even the best sentence fits: cut it at a word boundary
+            Sentence best = ranked.get(0);
+            return cutAtWord(text.substring(best.start, best.end), maxChars);
+        }
+        return excerpt.toString();
+    }
+
+    private double score(String sentence, int index, KeywordScan scan) {
+        tagger.scan(sentence, scan);
+        int hits = scan.getCategoryHits() + scan.getPositiveHits() + scan.getNegativeHits();
+        int words = 1 + (int) sentence.chars().filter(Character::isWhitespace).count();
+
+        double score = 10.0 * hits / words;
+        if (index < 2) score += LEAD_BONUS / (index + 1);
+        if (sentence.chars().anyMatch(Character::isDigit)) score += DIGIT_BONUS;
+        return score;
+    }
+
+    /** Sentence spans end after '.', '!' or '?' followed by whitespace, or at a line break. */
+    private static List<Sentence> split(String text) {
+        List<Sentence> sentences = new ArrayList<>();
+        int start = 0;
+        int n = text.length();
+        for (int i = 0; i < n; i++) {
+            char c = text.charAt(i);
+            boolean end = c == '\n'
+                    || ((c == '.' || c == '!' || c == '?') && (i + 1 == n || Character.isWhitespace(text.charAt(i + 1))));
+            if (end && i + 1 - start >= MIN_SENTENCE_CHARS) {
+                addTrimmed(sentences, text, start, i + 1);
+                start = i + 1;
+            }
+        }
+        if (start < n) addTrimmed(sentences, text, start, n);
+        return sentences;
+    }
+
+    private static void addTrimmed(List<Sentence> sentences, String text, int start, int end) {
+        while (start < end && Character.isWhitespace(text.charAt(start))) start++;
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) end--;
+        if (end > start) sentences.add(new Sentence(sentences.size(), start, end));
+    }
+
+    private static String cutAtWord(String text, int maxChars) {
+        if (text.length() <= maxChars) return text;
+        int cut = text.lastIndexOf(' ', maxChars);
+        return text.substring(0, cut > maxChars / 2 ? cut : maxChars);
+    }
+
+    public long getTexts() { return texts.get(); }
+    public long getCondensed() { return condensed.get(); }
+    public long getCharsIn() { return charsIn.get(); }
+    public long getCharsOut() { return charsOut.get(); }
+
+    @Override
+    public String toString() {
+        long in = charsIn.get();
+        return String.format("Condensed %d of %d texts | Chars: %d -> %d (%.0f%% kept, budget %d tokens)",
+                getCondensed(), getTexts(), in, getCharsOut(),
+                in == 0 ? 100.0 : 100.0 * getCharsOut() / in, tokenBudget);
+    }
+
+    private static final class Sentence {
+        private final int index;
+        private final int start;
+        private final int end;
+        private double score;
+
+        private Sentence(int index, int start, int end) {
+            this.index = index;
+            this.start = start;
+            this.end = end;
+        }
+
+        private int length() {
+            return end - start;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package project.app.humanelogistics.preprocessing.analysis;
+
+import project.app.humanelogistics.model.DamageCategory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Answers from the local keyword scan when it is confident enough and sends only the
+ * ambiguous texts on to the model-backed analyzers. Confidence comes from
+ * {@link KeywordScan}; a threshold above 1 sends everything to the model.
+ *
+ * Counts how many decisions stayed local, so the threshold can be tuned from real runs.
+ * {@link #asCombined()} routes combined (and batched) requests the same way.
+ */
+public class TieredAnalyzer implements SentimentAnalyzer, ContentClassifier {
+    private final KeywordTagger tagger;
+    private final SentimentAnalyzer remoteSentiment;
+    private final ContentClassifier remoteClassifier;
+    private final CombinedAnalyzer remoteCombined;
+    private final double threshold;
+
+    private final AtomicLong localDecisions = new AtomicLong();
+    private final AtomicLong remoteDecisions = new AtomicLong();
+    private final CombinedAnalyzer combined = new Combined();
+    private LexiconSentimentAnalyzer lexicon;
+
+    /** {@code remoteCombined} may be null; combined requests then use the two separate analyzers. */
+    public TieredAnalyzer(KeywordTagger tagger, SentimentAnalyzer remoteSentiment,
+                          ContentClassifier remoteClassifier, CombinedAnalyzer remoteCombined,
+                          double threshold) {
+        this.tagger = tagger;
+        this.remoteSentiment = remoteSentiment;
+        this.remoteClassifier = remoteClassifier;
+        this.remoteCombined = remoteCombined;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Scores local sentiment with a weighted lexicon instead of the keyword hits; its
+     * confidence is the size of the normalized score. Null returns to the keyword scan.
+     */
+    public void setLexicon(LexiconSentimentAnalyzer lexicon) {
+        this.lexicon = lexicon;
+    }
+
+    @Override
+    public SentimentType analyze(String text) {
+        if (lexicon == null) {
+            KeywordScan scan = tagger.scan(text);
+            if (isConfident(scan.getSentimentConfidence())) return scan.getSentimentType();
+        } else {
+            double score = lexicon.score(text);
+            if (isConfident(Math.abs(score))) return lexicon.analyze(text);
+        }
+        return remoteSentiment.analyze(text);
+    }
+
+    @Override
+    public double analyzeScore(String text) {
+        if (lexicon == null) {
+            KeywordScan scan = tagger.scan(text);
+            if (isConfident(scan.getSentimentConfidence())) return scan.getSentimentScore();
+        } else {
+            double score = lexicon.score(text);
+            if (isConfident(Math.abs(score))) return score;
+        }
+        return remoteSentiment.analyzeScore(text);
+    }
+
+    @Override
+    public DamageCategory classify(String text) {
+        KeywordScan scan = tagger.scan(text);
+        if (isConfident(scan.getCategoryConfidence())) return scan.getTopCategory();
+        return remoteClassifier.classify(text);
+    }
+
+    /** Combined view: local only when both halves are confident, otherwise one model call answers both. */
+    public CombinedAnalyzer asCombined() {
+        return combined;
+    }
+
+    private AnalysisResult localResult(String text, KeywordScan scan) {
+        double score = lexicon != null ? lexicon.score(text) : scan.getSentimentScore();
+        double confidence = lexicon != null ? Math.abs(score) : scan.getSentimentConfidence();
+        boolean confident = confidence >= threshold && scan.getCategoryConfidence() >= threshold;
+        record(confident);
+        return confident ? new AnalysisResult(score, scan.getTopCategory()) : null;
+    }
+
+    private boolean isConfident(double confidence) {
+        boolean confident = confidence >= threshold;
+        record(confident);
+        return confident;
+    }
+
+    private void record(boolean local) {
+        if (local) localDecisions.incrementAndGet();
+        else remoteDecisions.incrementAndGet();
+    }
+
+    public long getLocalDecisions() { return localDecisions.get(); }
+    public long getRemoteDecisions() { return remoteDecisions.get(); }
+
+    public double getLocalShare() {
+        long total = localDecisions.get() + remoteDecisions.get();
+        return total == 0 ? 0.0 : (double) localDecisions.get() / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Local: %d | Model: %d | Local share: %.0f%% (threshold %.2f)",
+                getLocalDecisions(), getRemoteDecisions(), getLocalShare() * 100, threshold);
+    }
+
+    private final class Combined implements CombinedAnalyzer {
+        @Override
+        public AnalysisResult analyze(String text) {
+            AnalysisResult local = localResult(text, tagger.scan(text));
+            if (local != null) return local;
+
+            if (remoteCombined != null) return remoteCombined.analyze(text);
+            return new AnalysisResult(remoteSentiment.analyzeScore(text), remoteClassifier.classify(text));
+        }
+
+        /** Resolves confident texts locally and sends the rest on as one batch. */
+        @Override
+        public Map<String, AnalysisResult> analyzeBatch(Map<String, String> textsById) {
+            Map<String, AnalysisResult> results = new LinkedHashMap<>();
+            Map<String, String> ambiguous = new LinkedHashMap<>();
+            KeywordScan scan = tagger.newScan();
+
+            for (Map.Entry<String, String> entry : textsById.entrySet()) {
+                AnalysisResult local = localResult(entry.getValue(), tagger.scan(entry.getValue(), scan));
+                if (local != null) {
+                    results.put(entry.getKey(), local);
+                } else {
+                    ambiguous.put(entry.getKey(), entry.getValue());
+                }
+            }
+
+            if (!ambiguous.isEmpty()) {
+                results.putAll(remoteCombined != null
+                        ? remoteCombined.analyzeBatch(ambiguous)
+                        : CombinedAnalyzer.super.analyzeBatch(ambiguous));
+            }
+            return results;
+        }
+    }
+}
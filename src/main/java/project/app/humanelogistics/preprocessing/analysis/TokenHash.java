@@ -0,0 +1,32 @@
+package project.app.humanelogistics.preprocessing.analysis;
+
+/**
+ * 64-bit FNV-1a over lower-cased chars, typographic apostrophes folded to '. Computed one
+ * char at a time so tokenizers can hash while they scan, without building a String.
+ */
+final class TokenHash {
+    static final long EMPTY = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private TokenHash() {}
+
+    static long step(long h, char c) {
+        char folded = c == '’' ? '\'' : Character.toLowerCase(c);
+        return (h ^ folded) * PRIME;
+    }
+
+    static long of(CharSequence text, int start, int end) {
+        long h = EMPTY;
+        for (int i = start; i < end; i++) {
+            h = step(h, text.charAt(i));
+        }
+        return h;
+    }
+
+    /** Order-sensitive combination of two token hashes, for n-gram features. */
+    static long pair(long first, long second) {
+        long h = first * 0x9e3779b97f4a7c15L + second;
+        h ^= h >>> 29;
+        return h * 0xbf58476d1ce4e5b9L;
+    }
+}
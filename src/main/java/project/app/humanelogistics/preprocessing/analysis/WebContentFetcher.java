@@ -2,21 +2,158 @@ package project.app.humanelogistics.preprocessing.analysis;
 
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
+import project.app.humanelogistics.config.AppConfig;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fetches article bodies over one shared {@link HttpClient}, so connections are kept alive
+ * and multiplexed over HTTP/2 where the site supports it. Any number of fetches can be in
+ * flight; each host gets at most {@code maxPerHost} of them, and every fetch is bounded by
+ * an overall deadline that includes time spent waiting for a host slot.
+ */
 public class WebContentFetcher {
+    private static final String USER_AGENT = "Mozilla/5.0";
+
+    private final HttpClient client;
+    private final ExecutorService executor;
+    private final int maxPerHost;
+    private final Duration requestTimeout;
+    private final long deadlineMillis;
+    private final Map<String, Semaphore> hostSlots = new ConcurrentHashMap<>();
+    private final StreamingTextExtractor streamingExtractor;
+
+    public WebContentFetcher() {
+        this(AppConfig.getInstance().getFetchMaxPerHost(),
+                AppConfig.getInstance().getFetchTimeoutMillis(),
+                AppConfig.getInstance().getFetchDeadlineMillis(),
+                streamingExtractorFrom(AppConfig.getInstance()));
+    }
+
+    public WebContentFetcher(int maxPerHost, long requestTimeoutMillis, long deadlineMillis) {
+        this(maxPerHost, requestTimeoutMillis, deadlineMillis, null);
+    }
+
+    /** With a {@code streamingExtractor}, bodies are extracted while downloading; with null, the whole page is DOM-parsed. */
+    public WebContentFetcher(int maxPerHost, long requestTimeoutMillis, long deadlineMillis,
+                             StreamingTextExtractor streamingExtractor) {
+        this.streamingExtractor = streamingExtractor;
+        this.maxPerHost = Math.max(1, maxPerHost);
+        this.requestTimeout = Duration.ofMillis(Math.max(1, requestTimeoutMillis));
+        this.deadlineMillis = Math.max(requestTimeoutMillis, deadlineMillis);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(this.requestTimeout)
+                .executor(executor)
+                .build();
+    }
+
+    private static StreamingTextExtractor streamingExtractorFrom(AppConfig config) {
+        if (!config.isFetchStreamingEnabled()) return null;
+        return new StreamingTextExtractor(config.getFetchMaxBytes(), config.getFetchTargetChars(),
+                config.getFetchSkipTags(), config.getFetchTextTags());
+    }
 
     public String fetchUrlContent(String url) {
-        if (url == null || url.isEmpty() || !url.startsWith("http")) return "";
+        return fetchUrlContentAsync(url).join();
+    }
+
+    /** Completes with the page's paragraph text, or "" on any failure or when the deadline passes. */
+    public CompletableFuture<String> fetchUrlContentAsync(String url) {
+        if (url == null || url.isEmpty() || !url.startsWith("http")) {
+            return CompletableFuture.completedFuture("");
+        }
+
+        return CompletableFuture.supplyAsync(() -> fetchWithinDeadline(url), executor)
+                .orTimeout(deadlineMillis, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    System.err.println("Web Fetch Error (" + url + "): "
+                            + (cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName()));
+                    return "";
+                });
+    }
+
+    private String fetchWithinDeadline(String url) {
+        long deadline = System.currentTimeMillis() + deadlineMillis;
+        URI uri = URI.create(url);
+        Semaphore slots = hostSlots.computeIfAbsent(
+                String.valueOf(uri.getHost()).toLowerCase(), host -> new Semaphore(maxPerHost));
+
         try {
-            Document doc = Jsoup.connect(url)
-                    .userAgent("Mozilla/5.0")
-                    .timeout(5000)
-                    .get();
+            if (!slots.tryAcquire(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Deadline passed waiting for host " + uri.getHost());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", e);
+        }
+
+        try {
+            long remaining = Math.max(1, deadline - System.currentTimeMillis());
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .header("User-Agent", USER_AGENT)
+                    .timeout(Duration.ofMillis(Math.min(requestTimeout.toMillis(), remaining)))
+                    .GET()
+                    .build();
+            if (streamingExtractor != null) {
+                HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                // Closing the body early abandons the rest of the download
+                try (InputStream body = response.body()) {
+                    checkStatus(response);
+                    return streamingExtractor.extract(body, charsetOf(response));
+                }
+            }
+
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            checkStatus(response);
             // Simple extraction of paragraph text
+            Document doc = Jsoup.parse(response.body(), url);
             return doc.select("p").text();
-        } catch (Exception e) {
-            System.err.println("Web Fetch Error (" + url + "): " + e.getMessage());
-            return "";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", e);
+        } catch (IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        } finally {
+            slots.release();
+        }
+    }
+
+    private static void checkStatus(HttpResponse<?> response) {
+        if (response.statusCode() < 200 || response.statusCode() >= 300) {
+            throw new IllegalStateException("HTTP " + response.statusCode());
+        }
+    }
+
+    private static Charset charsetOf(HttpResponse<?> response) {
+        String contentType = response.headers().firstValue("Content-Type").orElse("");
+        int index = contentType.toLowerCase().indexOf("charset=");
+        if (index >= 0) {
+            String name = contentType.substring(index + 8).split(";")[0].replace("\"", "").trim();
+            try {
+                return Charset.forName(name);
+            } catch (Exception e) {
+                // Unknown charset label; fall through to UTF-8
+            }
         }
+        return StandardCharsets.UTF_8;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,38 @@
+package project.app.humanelogistics.preprocessing.collector;
+
+import project.app.humanelogistics.model.Media;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One unit of streamed collector output, typically the items scraped for a single day.
+ * A failed page carries no items and the reason it failed.
+ */
+public class CollectedPage {
+    private final LocalDate date;
+    private final List<Media> items;
+    private final String error;
+
+    private CollectedPage(LocalDate date, List<Media> items, String error) {
+        this.date = date;
+        this.items = items != null ? new ArrayList<>(items) : new ArrayList<>();
+        this.error = error;
+    }
+
+    public static CollectedPage of(LocalDate date, List<Media> items) {
+        return new CollectedPage(date, items, null);
+    }
+
+    public static CollectedPage failed(LocalDate date, String error) {
+        return new CollectedPage(date, Collections.emptyList(), error != null ? error : "Unknown error");
+    }
+
+    /** Day this page covers, or null for collectors that are not day-based. */
+    public LocalDate getDate() { return date; }
+    public List<Media> getItems() { return Collections.unmodifiableList(items); }
+    public boolean isFailed() { return error != null; }
+    public String getError() { return error; }
+}
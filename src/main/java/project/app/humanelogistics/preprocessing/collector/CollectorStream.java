@@ -0,0 +1,32 @@
+package project.app.humanelogistics.preprocessing.collector;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Pull-based collector output: each {@link #next()} blocks until the next page is parsed.
+ * Closing the stream stops any scraping still in flight.
+ */
+public interface CollectorStream extends Iterator<CollectedPage>, AutoCloseable {
+
+    @Override
+    void close();
+
+    static CollectorStream of(List<CollectedPage> pages) {
+        Iterator<CollectedPage> iterator = pages.iterator();
+        return new CollectorStream() {
+            @Override
+            public boolean hasNext() { return iterator.hasNext(); }
+
+            @Override
+            public CollectedPage next() {
+                if (!iterator.hasNext()) throw new NoSuchElementException();
+                return iterator.next();
+            }
+
+            @Override
+            public void close() { }
+        };
+    }
+}
@@ -1,8 +1,29 @@
 package project.app.humanelogistics.preprocessing.collector;
 
 import project.app.humanelogistics.model.Media;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Predicate;
 
 public interface DataCollector {
     List<Media> collect(String query, String startDate, String endDate, int limit);
-}
\ No newline at end of file
+
+    /**
+     * Streaming variant of {@link #collect}: pages are handed over as soon as each one
+     * is parsed, so downstream work can start before the whole range is scraped.
+     * The default wraps {@link #collect} in a single page.
+     */
+    default CollectorStream stream(String query, String startDate, String endDate, int limit) {
+        return CollectorStream.of(List.of(CollectedPage.of(null, collect(query, startDate, endDate, limit))));
+    }
+
+    /**
+     * Like {@link #stream(String, String, String, int)}, but day-based collectors only scrape
+     * days accepted by {@code includeDay} (used to resume from checkpoints).
+     * Collectors that are not day-based ignore the filter.
+     */
+    default CollectorStream stream(String query, String startDate, String endDate, int limit,
+                                   Predicate<LocalDate> includeDay) {
+        return stream(query, startDate, endDate, limit);
+    }
+}
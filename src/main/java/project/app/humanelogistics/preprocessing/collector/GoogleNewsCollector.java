@@ -1,21 +1,32 @@
 package project.app.humanelogistics.preprocessing.collector;
 
+import org.jsoup.Connection;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
+import project.app.humanelogistics.config.AppConfig;
 import project.app.humanelogistics.model.Media;
 import project.app.humanelogistics.model.News;
+import project.app.humanelogistics.utils.Backoff;
+import project.app.humanelogistics.utils.TokenBucket;
 
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
+import java.net.UnknownHostException;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
 
 public class GoogleNewsCollector implements DataCollector {
 
@@ -24,75 +35,224 @@ public class GoogleNewsCollector implements DataCollector {
     // Strict format as requested: M/d/yyyy (e.g., 9/9/2024)
     private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("M/d/yyyy");
 
+    private final int parallelism;
+    private final int maxRetries;
+    private final TokenBucket rateLimiter;
+
+    public GoogleNewsCollector() {
+        this(AppConfig.getInstance().getCollectorParallelism(),
+                AppConfig.getInstance().getCollectorMaxRetries(),
+                new TokenBucket(AppConfig.getInstance().getCollectorRequestsPerSecond(),
+                        AppConfig.getInstance().getCollectorBurst()));
+    }
+
+    public GoogleNewsCollector(int parallelism, int maxRetries, TokenBucket rateLimiter) {
+        this.parallelism = Math.max(1, parallelism);
+        this.maxRetries = Math.max(0, maxRetries);
+        this.rateLimiter = rateLimiter;
+    }
+
     @Override
     public List<Media> collect(String query, String startDateStr, String endDateStr, int pagesToScrape) {
         List<Media> collectedPosts = new ArrayList<>();
+        List<LocalDate> failedDays = new ArrayList<>();
 
-        try {
-            String encodedQuery = URLEncoder.encode(query, StandardCharsets.UTF_8);
+        try (CollectorStream pages = stream(query, startDateStr, endDateStr, pagesToScrape)) {
+            while (pages.hasNext()) {
+                CollectedPage page = pages.next();
+                if (page.isFailed()) failedDays.add(page.getDate());
+                collectedPosts.addAll(page.getItems());
+            }
+        } catch (Exception e) {
+            System.err.println("Collection Failure: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        if (!failedDays.isEmpty()) {
+            System.err.println("   [WARN] " + failedDays.size() + " day(s) failed after retries: " + failedDays);
+        }
+
+        if (collectedPosts.isEmpty()) {
+            System.out.println("No data found. Generating mock data for testing...");
+            collectedPosts = generateMockData(query);
+        }
+        return collectedPosts;
+    }
+
+    /**
+     * Emits one page per day, in date order, as soon as that day is scraped. At most
+     * {@code 2 * parallelism} days are in flight, so a long range never piles up in memory.
+     */
+    @Override
+    public CollectorStream stream(String query, String startDateStr, String endDateStr, int pagesToScrape) {
+        return stream(query, startDateStr, endDateStr, pagesToScrape, day -> true);
+    }
+
+    @Override
+    public CollectorStream stream(String query, String startDateStr, String endDateStr, int pagesToScrape,
+                                  Predicate<LocalDate> includeDay) {
+        // 1. Parse strictly using M/d/yyyy
+        LocalDate start = LocalDate.parse(startDateStr, DATE_FMT);
+        LocalDate end = LocalDate.parse(endDateStr, DATE_FMT);
+
+        // Handle year rollover safety check
+        if (end.isBefore(start)) {
+            System.out.println("Warning: End date is before start date. Swapping or adjusting...");
+            // Optional: Swap or just warn. For now, we'll proceed as is, loop just won't run if start > end.
+        }
+
+        System.out.println("Processing Range: " + start + " to " + end + " (" + parallelism + " days in parallel)");
+        return new DayStream(query, start, end, includeDay);
+    }
 
-            // 1. Parse strictly using M/d/yyyy
-            LocalDate start = LocalDate.parse(startDateStr, DATE_FMT);
-            LocalDate end = LocalDate.parse(endDateStr, DATE_FMT);
+    private final class DayStream implements CollectorStream {
+        private final String query;
+        private final String encodedQuery;
+        private final LocalDate end;
+        private final Predicate<LocalDate> includeDay;
+        private final ExecutorService executor;
+        private final Deque<Map.Entry<LocalDate, Future<List<Media>>>> inFlight = new ArrayDeque<>();
+        private LocalDate nextDay;
+        private boolean emittedItems;
+        private boolean mockEmitted;
+        private int skippedDays;
 
-            // Handle year rollover safety check
-            if (end.isBefore(start)) {
-                System.out.println("Warning: End date is before start date. Swapping or adjusting...");
-                // Optional: Swap or just warn. For now, we'll proceed as is, loop just won't run if start > end.
+        private DayStream(String query, LocalDate start, LocalDate end, Predicate<LocalDate> includeDay) {
+            this.query = query;
+            this.encodedQuery = URLEncoder.encode(query, StandardCharsets.UTF_8);
+            this.end = end;
+            this.includeDay = includeDay;
+            this.nextDay = start;
+            // 2. Fetch days concurrently; the shared token bucket, not a fixed sleep, keeps us polite
+            this.executor = Executors.newFixedThreadPool(parallelism, Thread.ofVirtual().factory());
+            topUp();
+            if (skippedDays > 0 && inFlight.isEmpty()) {
+                System.out.println("All " + skippedDays + " day(s) already completed. Nothing to scrape.");
             }
+        }
 
-            System.out.println("Processing Range: " + start + " to " + end);
+        // !date.isAfter(end) guarantees [9/9, 9/10, 9/11] are ALL processed.
+        private void topUp() {
+            while (inFlight.size() < parallelism * 2 && !nextDay.isAfter(end)) {
+                LocalDate day = nextDay;
+                nextDay = nextDay.plusDays(1);
+                if (!includeDay.test(day)) {
+                    skippedDays++;
+                    continue;
+                }
+                inFlight.addLast(Map.entry(day, executor.submit(() -> scrapeDay(query, encodedQuery, day))));
+            }
+        }
 
-            // 2. Iterate Day-by-Day (Inclusive)
-            // !date.isAfter(end) guarantees [9/9, 9/10, 9/11] are ALL processed.
-            for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+        @Override
+        public boolean hasNext() {
+            // Resumed runs never fall back to mock data: skipped days were real
+            return !inFlight.isEmpty() || (!emittedItems && !mockEmitted && skippedDays == 0);
+        }
 
-                String dateQueryString = date.format(DATE_FMT);
-                System.out.println(">> Scraping for specific date: " + dateQueryString);
+        @Override
+        public CollectedPage next() {
+            if (inFlight.isEmpty()) {
+                if (!hasNext()) throw new NoSuchElementException();
+                mockEmitted = true;
+                System.out.println("No data found. Generating mock data for testing...");
+                return CollectedPage.of(null, generateMockData(query));
+            }
 
-                // Construct URL for this specific day
-                String url = String.format("https://www.google.com/search?q=%s&tbm=nws&tbs=cdr:1,cd_min:%s,cd_max:%s&hl=en",
-                        encodedQuery, dateQueryString, dateQueryString);
+            // 3. Hand days over in date order, whatever order they finished in
+            Map.Entry<LocalDate, Future<List<Media>>> head = inFlight.removeFirst();
+            LocalDate day = head.getKey();
+            try {
+                List<Media> items = head.getValue().get();
+                if (!items.isEmpty()) emittedItems = true;
+                return CollectedPage.of(day, items);
+            } catch (ExecutionException e) {
+                System.err.println("   [ERROR] Failed scraping date " + day.format(DATE_FMT)
+                        + ": " + e.getCause().getMessage());
+                return CollectedPage.failed(day, e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                return CollectedPage.failed(day, "Interrupted");
+            } finally {
+                topUp();
+            }
+        }
 
-                try {
-                    Document doc = Jsoup.connect(url)
-                            .userAgent(USER_AGENT)
-                            .header("Accept-Language", "en-US,en;q=0.9")
-                            .timeout(5000)
-                            .get();
+        @Override
+        public void close() {
+            inFlight.clear();
+            nextDay = end.plusDays(1);
+            mockEmitted = true;
+            executor.shutdownNow();
+        }
+    }
 
-                    Date currentDayTimestamp = Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
-                    List<Media> dailyPosts = parseDocument(doc, query, currentDayTimestamp);
+    /**
+     * Scrapes one day, retrying 429/5xx responses and network errors with jittered
+     * exponential backoff. Throws once retries are exhausted so the caller can report the day.
+     */
+    private List<Media> scrapeDay(String query, String encodedQuery, LocalDate date) throws Exception {
+        String dateQueryString = date.format(DATE_FMT);
+
+        // Construct URL for this specific day
+        String url = String.format("https://www.google.com/search?q=%s&tbm=nws&tbs=cdr:1,cd_min:%s,cd_max:%s&hl=en",
+                encodedQuery, dateQueryString, dateQueryString);
 
-                    System.out.println("   Found " + dailyPosts.size() + " articles.");
+        for (int attempt = 0; ; attempt++) {
+            rateLimiter.acquire();
+            System.out.println(">> Scraping for specific date: " + dateQueryString
+                    + (attempt > 0 ? " (retry " + attempt + ")" : ""));
+
+            long retryAfterMillis = 0;
+            String failure;
+            try {
+                Connection.Response response = Jsoup.connect(url)
+                        .userAgent(USER_AGENT)
+                        .header("Accept-Language", "en-US,en;q=0.9")
+                        .timeout(5000)
+                        .ignoreHttpErrors(true)
+                        .execute();
+
+                int status = response.statusCode();
+                if (status == 200) {
+                    Date currentDayTimestamp = Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+                    List<Media> dailyPosts = parseDocument(response.parse(), query, currentDayTimestamp);
 
+                    System.out.println("   " + dateQueryString + ": found " + dailyPosts.size() + " articles.");
                     for (Media m : dailyPosts) {
                         if (m instanceof News) {
                             News n = (News) m;
                             System.out.printf("   [+NEWS] %s | %s%n", n.getSource(), n.getUrl());
                         }
                     }
-
-                    collectedPosts.addAll(dailyPosts);
-
-                    // Sleep to be polite to Google servers
-                    Thread.sleep(1500);
-
-                } catch (Exception e) {
-                    System.err.println("   [ERROR] Failed scraping date " + dateQueryString + ": " + e.getMessage());
+                    return dailyPosts;
+                }
+                if (status != 429 && status < 500) {
+                    throw new IOException("HTTP " + status + " (not retryable)");
                 }
+                failure = "HTTP " + status;
+                retryAfterMillis = parseRetryAfter(response.header("Retry-After"));
+            } catch (SocketTimeoutException | UnknownHostException | ConnectException e) {
+                failure = e.getClass().getSimpleName();
             }
 
-        } catch (Exception e) {
-            System.err.println("Collection Failure: " + e.getMessage());
-            e.printStackTrace();
+            if (attempt >= maxRetries) {
+                throw new IOException(failure + " after " + (attempt + 1) + " attempts");
+            }
+            long delay = Math.max(retryAfterMillis, Backoff.delayMillis(attempt, 2000, 60_000));
+            System.out.println("   " + dateQueryString + ": " + failure + ", backing off " + delay + " ms");
+            Thread.sleep(delay);
         }
+    }
 
-        if (collectedPosts.isEmpty()) {
-            System.out.println("No data found. Generating mock data for testing...");
-            collectedPosts = generateMockData(query);
+    private long parseRetryAfter(String header) {
+        if (header == null) return 0;
+        try {
+            return Long.parseLong(header.trim()) * 1000L;
+        } catch (NumberFormatException e) {
+            return 0;
         }
-        return collectedPosts;
     }
 
     private List<Media> parseDocument(Document doc, String topic, Date forceDate) {
@@ -2,17 +2,30 @@ package project.app.humanelogistics.service;
 
 import org.jfree.data.category.DefaultCategoryDataset;
 import org.jfree.data.time.TimeSeriesCollection;
+import project.app.humanelogistics.utils.VirtualExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class DashboardService {
     // CHANGED: Depends on StatisticsService now
     private final StatisticsService statisticsService;
     private final String defaultTopic;
     private final int defaultYear;
+    private final TopicSnapshotCache snapshotCache;
+    private long summaryDeadlineMillis = 60_000;
 
     public DashboardService(StatisticsService statisticsService, String defaultTopic, int defaultYear) {
+        this(statisticsService, defaultTopic, defaultYear, new TopicSnapshotCache(60_000));
+    }
+
+    public DashboardService(StatisticsService statisticsService, String defaultTopic, int defaultYear,
+                            TopicSnapshotCache snapshotCache) {
         this.statisticsService = statisticsService;
         this.defaultTopic = defaultTopic;
         this.defaultYear = defaultYear;
+        this.snapshotCache = snapshotCache;
     }
 
     public DashboardStats getDashboardStats() {
@@ -20,41 +33,88 @@ public class DashboardService {
     }
 
     public DashboardStats getDashboardStats(String topic) {
-        int totalPosts = statisticsService.getTotalPostCount(topic);
-        double avgSentiment = statisticsService.getOverallAverageScore(topic);
+        TopicSnapshot snapshot = getSnapshot(topic);
+
+        String summary = snapshot.getSummary();
+        if (summary == null) {
+            summary = statisticsService.generateTopicInsight(snapshot);
+            if (!SummaryGenerator.UNAVAILABLE.equals(summary)) snapshot.setSummary(summary);
+        }
+        return toStats(snapshot, summary);
+    }
 
-        String topCategory = statisticsService.getTopDamageCategory(topic);
+    public void setSummaryDeadlineMillis(long summaryDeadlineMillis) {
+        this.summaryDeadlineMillis = summaryDeadlineMillis;
+    }
 
+    public CompletableFuture<DashboardStats> getDashboardStatsAsync() {
+        return getDashboardStatsAsync(defaultTopic);
+    }
 
-        DefaultCategoryDataset damageData = statisticsService.getDamageData(topic);
-        int topCount = getCountForCategory(damageData, topCategory);
+    /**
+     * Non-blocking {@link #getDashboardStats(String)}. The numbers never wait longer than the
+     * summary deadline: past it the model call is cancelled and a placeholder is shown.
+     * Cancelling the returned future also cancels the snapshot load and the summary call.
+     * A summary is generated once per cached snapshot; a placeholder is never kept.
+     */
+    public CompletableFuture<DashboardStats> getDashboardStatsAsync(String topic) {
+        CompletableFuture<TopicSnapshot> load = VirtualExecutor.supplyAsync(() -> getSnapshot(topic));
+        AtomicReference<CompletableFuture<String>> summaryCall = new AtomicReference<>();
 
-        String summary = statisticsService.generateTopicInsight(topic);
+        CompletableFuture<DashboardStats> stats = load.thenCompose(snapshot -> {
+            String cached = snapshot.getSummary();
+            if (cached != null) return CompletableFuture.completedFuture(toStats(snapshot, cached));
 
+            CompletableFuture<String> summary = statisticsService.generateTopicInsightAsync(snapshot);
+            summaryCall.set(summary);
+            CompletableFuture.delayedExecutor(summaryDeadlineMillis, TimeUnit.MILLISECONDS)
+                    .execute(() -> summary.cancel(true));
+
+            return summary
+                    .thenApply(text -> {
+                        if (!SummaryGenerator.UNAVAILABLE.equals(text)) snapshot.setSummary(text);
+                        return text;
+                    })
+                    .exceptionally(error -> SummaryGenerator.UNAVAILABLE)
+                    .thenApply(text -> toStats(snapshot, text));
+        });
+
+        stats.whenComplete((result, error) -> {
+            if (!stats.isCancelled()) return;
+            load.cancel(true);
+            CompletableFuture<String> summary = summaryCall.get();
+            if (summary != null) summary.cancel(true);
+        });
+        return stats;
+    }
+
+    private static DashboardStats toStats(TopicSnapshot snapshot, String summary) {
         return new DashboardStats(
-                totalPosts,
-                avgSentiment,
-                topCategory,
-                topCount,
+                snapshot.getTotalPosts(),
+                snapshot.getAvgSentiment(),
+                snapshot.getTopDamageCategory(),
+                snapshot.getTopDamageCount(),
                 summary
         );
     }
 
-    private int getCountForCategory(DefaultCategoryDataset dataset, String category) {
-        if (dataset == null || category.equals("None")) return 0;
-        try {
-            Number value = dataset.getValue("Damage Reports", category);
-            return value != null ? value.intValue() : 0;
-        } catch (Exception e) {
-            return 0;
-        }
+    public TopicSnapshot getSnapshot(String topic) {
+        return snapshotCache.get(topic, statisticsService::computeSnapshot);
+    }
+
+    /**
+     * Drops the cached snapshot, and the summary kept with it, so the next read sees
+     * freshly written data.
+     */
+    public void invalidateTopic(String topic) {
+        snapshotCache.invalidate(topic);
     }
 
     public TimeSeriesCollection getSentimentTimeSeries() {
-        return statisticsService.getSentimentData(defaultTopic, defaultYear);
+        return getSnapshot(defaultTopic).getSentimentSeries();
     }
 
     public DefaultCategoryDataset getDamageDataset() {
-        return statisticsService.getDamageData(defaultTopic);
+        return getSnapshot(defaultTopic).getDamageDataset();
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package project.app.humanelogistics.service;
 
 import project.app.humanelogistics.config.AIConfig;
+import project.app.humanelogistics.config.AIRequestException;
 import project.app.humanelogistics.config.AIConfig.ModelType;
 
 public class GeminiSummaryGenerator implements SummaryGenerator {
@@ -26,10 +27,15 @@ public class GeminiSummaryGenerator implements SummaryGenerator {
 
         // Use the UnifiedAIService to generate content
         // You can easily switch models here by changing ModelType.GEMINI_FLASH to another type
-        String result = aiService.ask(ModelType.GEMINI_FLASH, prompt);
+        String result;
+        try {
+            result = aiService.ask(ModelType.GEMINI_FLASH, prompt);
+        } catch (AIRequestException e) {
+            return UNAVAILABLE;
+        }
 
-        if (result.startsWith("Error") || result.isEmpty()) {
-            return "Unable to generate summary at this time.";
+        if (result == null || result.isEmpty()) {
+            return UNAVAILABLE;
         }
 
         return result;
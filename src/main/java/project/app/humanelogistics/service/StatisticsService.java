@@ -5,13 +5,12 @@ import org.jfree.data.time.Day;
 import org.jfree.data.time.TimeSeries;
 import org.jfree.data.time.TimeSeriesCollection;
 import project.app.humanelogistics.db.MediaRepository;
+import project.app.humanelogistics.db.TopicAggregate;
 import project.app.humanelogistics.model.DamageCategory;
-import project.app.humanelogistics.model.MediaAnalysis;
-import project.app.humanelogistics.model.Media;
 
 import java.time.LocalDate;
-import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 public class StatisticsService {
 
@@ -26,77 +25,126 @@ public class StatisticsService {
         this.repoMap.put(label, repo);
     }
 
-    public int getTotalPostCount(String topic) {
-        int total = 0;
-        for (MediaRepository repo : repoMap.values()) {
-            total += repo.findByTopic(topic).size();
+    /**
+     * One aggregation round trip per repository. Every statistic below is derived
+     * from these small results instead of from the raw documents.
+     */
+    public Map<String, TopicAggregate> aggregateByRepository(String topic) {
+        Map<String, TopicAggregate> aggregates = new LinkedHashMap<>();
+        for (Map.Entry<String, MediaRepository> entry : repoMap.entrySet()) {
+            aggregates.put(entry.getKey(), entry.getValue().aggregateTopic(topic));
         }
-        return total;
+        return aggregates;
+    }
+
+    public int getTotalPostCount(String topic) {
+        return totalCount(aggregateByRepository(topic));
     }
 
     public double getOverallAverageScore(String topic) {
-        double totalScore = 0.0;
-        int count = 0;
-        for (MediaRepository repo : repoMap.values()) {
-            List<MediaAnalysis> items = repo.findByTopic(topic);
-            for (MediaAnalysis item : items) {
-                // FIXED: Include 0.0 (neutral) scores in the average
-                // This ensures "Neutral" posts contribute to the overall score instead of being ignored
-                totalScore += item.getSentiment().getValue();
-                count++;
-            }
-        }
-        return count == 0 ? 0.0 : totalScore / count;
+        return averageScore(aggregateByRepository(topic));
     }
 
     public TimeSeriesCollection getSentimentData(String topic, int targetYear) {
-        TimeSeriesCollection dataset = new TimeSeriesCollection();
-        for (Map.Entry<String, MediaRepository> entry : repoMap.entrySet()) {
-            String seriesName = entry.getKey();
-            MediaRepository repo = entry.getValue();
-            List<MediaAnalysis> items = repo.findByTopic(topic);
+        return buildSentimentSeries(aggregateByRepository(topic));
+    }
 
-            Map<LocalDate, Double> dailyTotal = new TreeMap<>();
-            Map<LocalDate, Integer> dailyCount = new HashMap<>();
-            boolean hasData = false;
+    public DefaultCategoryDataset getDamageData(String topic) {
+        return buildDamageDataset(aggregateByRepository(topic));
+    }
 
-            for (MediaAnalysis item : items) {
-                Media media = item.getMedia();
+    public String getTopDamageCategory(String topic) {
+        return topDamageCategory(buildDamageDataset(aggregateByRepository(topic)));
+    }
+
+    /**
+     * Builds every dashboard figure for a topic from a single set of aggregates.
+     */
+    public TopicSnapshot computeSnapshot(String topic) {
+        Map<String, TopicAggregate> aggregates = aggregateByRepository(topic);
+        DefaultCategoryDataset damageData = buildDamageDataset(aggregates);
+        String topCategory = topDamageCategory(damageData);
+
+        return new TopicSnapshot(
+                topic,
+                totalCount(aggregates),
+                averageScore(aggregates),
+                topCategory,
+                countForCategory(damageData, topCategory),
+                buildSentimentSeries(aggregates),
+                damageData
+        );
+    }
 
-                if (media.getTimestamp() == null) continue;
+    public String generateTopicInsight(TopicSnapshot snapshot) {
+        if (summaryGenerator == null) return "Summary generator not initialized.";
+        return summaryGenerator.generateSummary(snapshot.getTopic(), snapshot.getTotalPosts(),
+                snapshot.getAvgSentiment(), snapshot.getTopDamageCategory());
+    }
 
-                // CRITICAL FIX: Use UTC to match MongoDB storage.
-                // Previously: ZoneId.systemDefault() caused dates to shift (e.g., Sept 3 10PM UTC -> Sept 4 5AM Local)
-                LocalDate localDate = media.getTimestamp().toInstant().atZone(ZoneId.of("UTC")).toLocalDate();
+    public CompletableFuture<String> generateTopicInsightAsync(TopicSnapshot snapshot) {
+        if (summaryGenerator == null) return CompletableFuture.completedFuture("Summary generator not initialized.");
+        return summaryGenerator.generateSummaryAsync(snapshot.getTopic(), snapshot.getTotalPosts(),
+                snapshot.getAvgSentiment(), snapshot.getTopDamageCategory());
+    }
 
-                // Year filter remains disabled as per previous configuration
-                // if (targetYear != 0 && localDate.getYear() != targetYear) continue;
+    public String generateTopicInsight(String topic) {
+        if (summaryGenerator == null) return "Summary generator not initialized.";
 
-                dailyTotal.put(localDate, dailyTotal.getOrDefault(localDate, 0.0) + item.getSentiment().getValue());
-                dailyCount.put(localDate, dailyCount.getOrDefault(localDate, 0) + 1);
-                hasData = true;
-            }
+        Map<String, TopicAggregate> aggregates = aggregateByRepository(topic);
+        int total = totalCount(aggregates);
+        double score = averageScore(aggregates);
+        String topDamage = topDamageCategory(buildDamageDataset(aggregates));
 
-            TimeSeries series = new TimeSeries(seriesName);
-            for (LocalDate date : dailyTotal.keySet()) {
-                double avg = dailyTotal.get(date) / dailyCount.get(date);
-                series.addOrUpdate(new Day(date.getDayOfMonth(), date.getMonthValue(), date.getYear()), avg);
+        return summaryGenerator.generateSummary(topic, total, score, topDamage);
+    }
+
+    int totalCount(Map<String, TopicAggregate> aggregates) {
+        int total = 0;
+        for (TopicAggregate aggregate : aggregates.values()) {
+            total += aggregate.getCount();
+        }
+        return total;
+    }
+
+    double averageScore(Map<String, TopicAggregate> aggregates) {
+        // FIXED: Include 0.0 (neutral) scores in the average
+        // This ensures "Neutral" posts contribute to the overall score instead of being ignored
+        double totalScore = 0.0;
+        int count = 0;
+        for (TopicAggregate aggregate : aggregates.values()) {
+            totalScore += aggregate.getSentimentSum();
+            count += aggregate.getCount();
+        }
+        return count == 0 ? 0.0 : totalScore / count;
+    }
+
+    TimeSeriesCollection buildSentimentSeries(Map<String, TopicAggregate> aggregates) {
+        TimeSeriesCollection dataset = new TimeSeriesCollection();
+        for (Map.Entry<String, TopicAggregate> entry : aggregates.entrySet()) {
+            // Days are bucketed in UTC to match MongoDB storage.
+            // Year filter remains disabled as per previous configuration
+            Map<LocalDate, Double> dailyAverages = entry.getValue().getDailyAverages();
+            if (dailyAverages.isEmpty()) continue;
+
+            TimeSeries series = new TimeSeries(entry.getKey());
+            for (Map.Entry<LocalDate, Double> day : dailyAverages.entrySet()) {
+                LocalDate date = day.getKey();
+                series.addOrUpdate(new Day(date.getDayOfMonth(), date.getMonthValue(), date.getYear()), day.getValue());
             }
-            if (hasData) dataset.addSeries(series);
+            dataset.addSeries(series);
         }
         return dataset;
     }
 
-    public DefaultCategoryDataset getDamageData(String topic) {
+    DefaultCategoryDataset buildDamageDataset(Map<String, TopicAggregate> aggregates) {
         DefaultCategoryDataset dataset = new DefaultCategoryDataset();
-        Map<DamageCategory, Integer> counts = new HashMap<>();
-
-        for (MediaRepository repo : repoMap.values()) {
-            List<MediaAnalysis> items = repo.findByTopic(topic);
-            for (MediaAnalysis item : items) {
-                DamageCategory type = item.getDamageCategory();
-                if (type != null && type != DamageCategory.UNKNOWN) {
-                    counts.put(type, counts.getOrDefault(type, 0) + 1);
+        Map<DamageCategory, Integer> counts = new EnumMap<>(DamageCategory.class);
+
+        for (TopicAggregate aggregate : aggregates.values()) {
+            for (Map.Entry<DamageCategory, Integer> entry : aggregate.getDamageCounts().entrySet()) {
+                if (entry.getKey() != DamageCategory.UNKNOWN) {
+                    counts.merge(entry.getKey(), entry.getValue(), Integer::sum);
                 }
             }
         }
@@ -108,8 +156,17 @@ public class StatisticsService {
         return dataset;
     }
 
-    public String getTopDamageCategory(String topic) {
-        DefaultCategoryDataset dataset = getDamageData(topic);
+    private int countForCategory(DefaultCategoryDataset dataset, String category) {
+        if (dataset == null || category.equals("None")) return 0;
+        try {
+            Number value = dataset.getValue("Damage Reports", category);
+            return value != null ? value.intValue() : 0;
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    String topDamageCategory(DefaultCategoryDataset dataset) {
         String topDmg = "None";
         double maxVal = 0;
 
@@ -125,14 +182,4 @@ public class StatisticsService {
         }
         return topDmg;
     }
-
-    public String generateTopicInsight(String topic) {
-        if (summaryGenerator == null) return "Summary generator not initialized.";
-
-        int total = getTotalPostCount(topic);
-        double score = getOverallAverageScore(topic);
-        String topDamage = getTopDamageCategory(topic);
-
-        return summaryGenerator.generateSummary(topic, total, score, topDamage);
-    }
-}
\ No newline at end of file
+}
@@ -1,5 +1,17 @@
 package project.app.humanelogistics.service;
 
+import project.app.humanelogistics.utils.VirtualExecutor;
+
+import java.util.concurrent.CompletableFuture;
+
 public interface SummaryGenerator {
+        /** Shown in place of a summary the model could not produce; never cached. */
+        String UNAVAILABLE = "Unable to generate summary at this time.";
+
         String generateSummary(String topic, int postCount, double avgSentiment, String topDamageType);
+
+        default CompletableFuture<String> generateSummaryAsync(String topic, int postCount,
+                                                               double avgSentiment, String topDamageType) {
+                return VirtualExecutor.supplyAsync(() -> generateSummary(topic, postCount, avgSentiment, topDamageType));
+        }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package project.app.humanelogistics.service;
+
+import org.jfree.data.category.DefaultCategoryDataset;
+import org.jfree.data.time.TimeSeriesCollection;
+
+/**
+ * Everything the dashboard shows for one topic, computed in a single pass.
+ * Stats, the sentiment chart and the damage charts all read from the same instance;
+ * the datasets are shared and must be treated as read-only. The model summary of these
+ * numbers is kept here too, so it is generated once and dropped with the snapshot.
+ */
+public class TopicSnapshot {
+    private final String topic;
+    private final int totalPosts;
+    private final double avgSentiment;
+    private final String topDamageCategory;
+    private final int topDamageCount;
+    private final TimeSeriesCollection sentimentSeries;
+    private final DefaultCategoryDataset damageDataset;
+    private final long createdAtMillis;
+    private volatile String summary;
+
+    public TopicSnapshot(String topic, int totalPosts, double avgSentiment,
+                         String topDamageCategory, int topDamageCount,
+                         TimeSeriesCollection sentimentSeries, DefaultCategoryDataset damageDataset) {
+        this.topic = topic;
+        this.totalPosts = totalPosts;
+        this.avgSentiment = avgSentiment;
+        this.topDamageCategory = topDamageCategory;
+        this.topDamageCount = topDamageCount;
+        this.sentimentSeries = sentimentSeries;
+        this.damageDataset = damageDataset;
+        this.createdAtMillis = System.currentTimeMillis();
+    }
+
+    public String getTopic() { return topic; }
+    public int getTotalPosts() { return totalPosts; }
+    public double getAvgSentiment() { return avgSentiment; }
+    public String getTopDamageCategory() { return topDamageCategory; }
+    public int getTopDamageCount() { return topDamageCount; }
+    public TimeSeriesCollection getSentimentSeries() { return sentimentSeries; }
+    public DefaultCategoryDataset getDamageDataset() { return damageDataset; }
+    public long getCreatedAtMillis() { return createdAtMillis; }
+
+    /** Null until a summary has been generated for this snapshot. */
+    String getSummary() { return summary; }
+    void setSummary(String summary) { this.summary = summary; }
+}
@@ -0,0 +1,63 @@
+package project.app.humanelogistics.service;
+
+import project.app.humanelogistics.db.TopicKey;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Per-topic snapshot cache with a time-to-live. Entries are also dropped explicitly
+ * when the ingestion pipeline writes to a topic.
+ */
+public class TopicSnapshotCache {
+    private final long ttlMillis;
+    private final Map<String, TopicSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<String, Object> loadLocks = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public TopicSnapshotCache(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    public TopicSnapshot get(String topic, Function<String, TopicSnapshot> loader) {
+        String key = keyOf(topic);
+        TopicSnapshot cached = snapshots.get(key);
+        if (isFresh(cached)) return cached;
+
+        // One loader per topic; concurrent callers wait for it instead of querying again
+        synchronized (loadLocks.computeIfAbsent(key, k -> new Object())) {
+            cached = snapshots.get(key);
+            if (isFresh(cached)) return cached;
+
+            long generation = invalidations.get();
+            TopicSnapshot loaded = loader.apply(topic);
+            // A write that landed while we were loading makes this result stale; serve it once, don't keep it
+            if (invalidations.get() == generation) {
+                snapshots.put(key, loaded);
+            }
+            return loaded;
+        }
+    }
+
+    public void invalidate(String topic) {
+        if (topic == null) return;
+        invalidations.incrementAndGet();
+        snapshots.remove(keyOf(topic));
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        snapshots.clear();
+    }
+
+    private boolean isFresh(TopicSnapshot snapshot) {
+        return snapshot != null && System.currentTimeMillis() - snapshot.getCreatedAtMillis() < ttlMillis;
+    }
+
+    private static String keyOf(String topic) {
+        // Same normalization as the stored topicKey, so every spelling the DB matches shares an entry
+        return TopicKey.of(topic);
+    }
+}
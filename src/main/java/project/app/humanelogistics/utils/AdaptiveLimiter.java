@@ -0,0 +1,57 @@
+package project.app.humanelogistics.utils;
+
+/**
+ * AIMD concurrency limiter. Each healthy, fast response raises the limit by about one
+ * per round of calls; an overload signal (429, 5xx, timeout) halves it, and a slow
+ * response trims it. Callers block in {@link #acquire()} while the limit is reached.
+ */
+public class AdaptiveLimiter {
+    private final double minLimit;
+    private final double maxLimit;
+    private final long latencyTargetMillis;
+    private double limit;
+    private int inFlight;
+
+    public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit, long latencyTargetMillis) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.latencyTargetMillis = Math.max(1, latencyTargetMillis);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    public synchronized void acquire() throws InterruptedException {
+        while (inFlight >= (int) limit) {
+            wait();
+        }
+        inFlight++;
+    }
+
+    /** Releases a slot after a call that got an answer, and adapts to its latency. */
+    public synchronized void onSuccess(long latencyMillis) {
+        if (latencyMillis <= latencyTargetMillis) {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        } else {
+            limit = Math.max(minLimit, limit * 0.9);
+        }
+        release();
+    }
+
+    /** Releases a slot after a call the server rejected as overloaded or that timed out. */
+    public synchronized void onOverload() {
+        limit = Math.max(minLimit, limit * 0.5);
+        release();
+    }
+
+    /** Releases a slot without adapting, for failures that say nothing about load. */
+    public synchronized void onIgnored() {
+        release();
+    }
+
+    private void release() {
+        inFlight = Math.max(0, inFlight - 1);
+        notifyAll();
+    }
+
+    public synchronized int getLimit() { return (int) limit; }
+    public synchronized int getInFlight() { return inFlight; }
+}
@@ -2,6 +2,9 @@ package project.app.humanelogistics.utils;
 
 import javafx.application.Platform;
 import javafx.concurrent.Task;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -30,6 +33,26 @@ public class AsyncTaskUtil {
         thread.start();
     }
 
+    /**
+     * Delivers the outcome of an already-running future on the FX thread. Nothing is
+     * delivered if the future is cancelled.
+     */
+    public static <T> CompletableFuture<T> executeFuture(
+            CompletableFuture<T> future,
+            Consumer<T> onSuccess,
+            Consumer<Throwable> onError) {
+
+        future.whenComplete((result, error) -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+            if (cause instanceof CancellationException) return;
+            Platform.runLater(() -> {
+                if (cause != null) onError.accept(cause); else onSuccess.accept(result);
+            });
+        });
+        return future;
+    }
+
     public static void executeVoid(
             Runnable backgroundTask,
             Runnable onSuccess,
@@ -0,0 +1,21 @@
+package project.app.humanelogistics.utils;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with jitter, so parallel retries do not hit the server in lockstep.
+ */
+public final class Backoff {
+
+    private Backoff() {}
+
+    /**
+     * Delay before retry number {@code attempt} (0-based): a random value between half
+     * and all of {@code baseMillis * 2^attempt}, capped at {@code maxMillis}.
+     */
+    public static long delayMillis(int attempt, long baseMillis, long maxMillis) {
+        long ceiling = Math.min(maxMillis, baseMillis << Math.min(attempt, 20));
+        long floor = ceiling / 2;
+        return floor + ThreadLocalRandom.current().nextLong(ceiling - floor + 1);
+    }
+}
@@ -0,0 +1,95 @@
+package project.app.humanelogistics.utils;
+
+/**
+ * Open-addressing hash map from {@code long} to {@code double} with linear probing:
+ * flat arrays, no boxing and no per-entry objects. Key 0 is stored in a side slot.
+ * Not thread-safe for writes; safe to read concurrently once filled.
+ */
+public final class LongDoubleMap {
+    private static final double LOAD_FACTOR = 0.5;
+
+    private long[] keys;
+    private double[] values;
+    private boolean[] used;
+    private int size;
+    private boolean hasZeroKey;
+    private double zeroValue;
+
+    public LongDoubleMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    public void put(long key, double value) {
+        if (key == 0) {
+            if (!hasZeroKey) size++;
+            hasZeroKey = true;
+            zeroValue = value;
+            return;
+        }
+        int slot = slotOf(key);
+        if (!used[slot]) {
+            if (size + 1 > keys.length * LOAD_FACTOR) {
+                rehash(keys.length << 1);
+                slot = slotOf(key);
+            }
+            used[slot] = true;
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = value;
+    }
+
+    public double get(long key, double defaultValue) {
+        if (key == 0) return hasZeroKey ? zeroValue : defaultValue;
+        int slot = slotOf(key);
+        return used[slot] ? values[slot] : defaultValue;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == 0) return hasZeroKey;
+        return used[slotOf(key)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Slot holding {@code key}, or the empty slot where it would go. */
+    private int slotOf(long key) {
+        int mask = keys.length - 1;
+        int slot = (int) mix(key) & mask;
+        while (used[slot] && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = slotOf(oldKeys[i]);
+                used[slot] = true;
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new double[capacity];
+        used = new boolean[capacity];
+    }
+
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return key;
+    }
+}
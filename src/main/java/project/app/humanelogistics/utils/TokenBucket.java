@@ -0,0 +1,43 @@
+package project.app.humanelogistics.utils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Blocking token-bucket rate limiter. Refills at {@code ratePerSecond}; up to
+ * {@code burst} tokens can be spent back to back. Safe to share between threads.
+ */
+public class TokenBucket {
+    private final double ratePerSecond;
+    private final double capacity;
+    private double tokens;
+    private long lastRefillNanos;
+
+    public TokenBucket(double ratePerSecond, int burst) {
+        if (ratePerSecond <= 0) throw new IllegalArgumentException("ratePerSecond must be positive");
+        this.ratePerSecond = ratePerSecond;
+        this.capacity = Math.max(1, burst);
+        this.tokens = this.capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    public void acquire() throws InterruptedException {
+        while (true) {
+            long waitNanos;
+            synchronized (this) {
+                refill();
+                if (tokens >= 1.0) {
+                    tokens -= 1.0;
+                    return;
+                }
+                waitNanos = (long) ((1.0 - tokens) / ratePerSecond * 1_000_000_000L);
+            }
+            TimeUnit.NANOSECONDS.sleep(Math.max(waitNanos, 1_000_000L));
+        }
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) / 1_000_000_000.0 * ratePerSecond);
+        lastRefillNanos = now;
+    }
+}
@@ -0,0 +1,59 @@
+package project.app.humanelogistics.utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking work (model calls, database reads) on virtual threads and hands back a
+ * {@link CompletableFuture}. Thousands can be in flight at once; cancelling the returned
+ * future, or letting its deadline pass, interrupts the thread doing the work.
+ */
+public final class VirtualExecutor {
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private VirtualExecutor() {}
+
+    public static <T> CompletableFuture<T> supplyAsync(Supplier<T> work) {
+        TaskFuture<T> future = new TaskFuture<>();
+        future.task = EXECUTOR.submit(() -> {
+            try {
+                future.complete(work.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+
+    /** Like {@link #supplyAsync(Supplier)}, failing with a TimeoutException and interrupting the work after {@code deadlineMillis}. */
+    public static <T> CompletableFuture<T> supplyAsync(Supplier<T> work, long deadlineMillis) {
+        TaskFuture<T> future = (TaskFuture<T>) supplyAsync(work);
+        CompletableFuture.delayedExecutor(deadlineMillis, TimeUnit.MILLISECONDS).execute(() -> {
+            if (future.completeExceptionally(new TimeoutException("Deadline of " + deadlineMillis + " ms passed"))) {
+                future.interruptTask();
+            }
+        });
+        return future;
+    }
+
+    private static final class TaskFuture<T> extends CompletableFuture<T> {
+        private volatile Future<?> task;
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) interruptTask();
+            return cancelled;
+        }
+
+        private void interruptTask() {
+            Future<?> running = task;
+            if (running != null) running.cancel(true);
+        }
+    }
+}